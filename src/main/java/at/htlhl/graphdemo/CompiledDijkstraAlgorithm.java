@@ -0,0 +1,78 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Vertex;
+
+/**
+ * Dijkstra-Algorithmus auf dem kompilierten Graphen ({@link CompiledGraph}).
+ * Distanzen und Vorgänger liegen in primitiven Arrays, die Prioritätswarteschlange
+ * arbeitet mit Knotenindizes. Dadurch entfallen HashMap-Zugriffe und Objekt-Allokationen
+ * beim Relaxieren. Die Arrays liegen je Thread in einem {@link SearchSpace} und werden
+ * wiederverwendet; zurückgesetzt werden nur die Einträge, die eine Abfrage berührt hat.
+ */
+public class CompiledDijkstraAlgorithm implements ShortestPathEngine {
+
+    private final CompiledGraph compiledGraph;
+    private final ThreadLocal<SearchSpace> searchSpaces;
+
+    /**
+     * Konstruktor für den Dijkstra-Algorithmus auf dem kompilierten Graphen.
+     * @param compiledGraph Der kompilierte Graph, auf dem der Algorithmus arbeitet
+     */
+    public CompiledDijkstraAlgorithm(CompiledGraph compiledGraph) {
+        this.compiledGraph = compiledGraph;
+        int n = compiledGraph.vertexCount();
+        this.searchSpaces = ThreadLocal.withInitial(() -> new SearchSpace(n));
+    }
+
+    public CompiledGraph getCompiledGraph() {
+        return compiledGraph;
+    }
+
+    @Override
+    public DijkstraAlgorithm.DijkstraResult findShortestPath(Vertex<VertaxData> startVertex, Vertex<VertaxData> endVertex) {
+        // Validierung
+        if (startVertex == null || endVertex == null) {
+            return new DijkstraAlgorithm.DijkstraResult(null, Double.POSITIVE_INFINITY, null);
+        }
+
+        int source = compiledGraph.indexOf(startVertex);
+        int target = compiledGraph.indexOf(endVertex);
+        if (source < 0 || target < 0) {
+            return new DijkstraAlgorithm.DijkstraResult(null, Double.POSITIVE_INFINITY, null);
+        }
+
+        SearchSpace space = searchSpaces.get();
+        space.start(source);
+        while (!space.queue.isEmpty()) {
+            int u = space.settleNext();
+            if (u == target) {
+                break;
+            }
+
+            double du = space.distance[u];
+            for (int a = compiledGraph.arcsBegin(u), end = compiledGraph.arcsEnd(u); a < end; a++) {
+                space.relax(compiledGraph.arcTarget(a), du + compiledGraph.arcWeight(a), u, a);
+            }
+        }
+
+        // Prüfe, ob ein Pfad zum Zielknoten existiert
+        double distance = space.distance[target];
+        if (distance == Double.POSITIVE_INFINITY) {
+            space.reset();
+            return new DijkstraAlgorithm.DijkstraResult(null, Double.POSITIVE_INFINITY, null);
+        }
+
+        // Pfad rückwärts über die Vorgänger-Bögen rekonstruieren
+        int length = 0;
+        for (int v = target; v != source; v = space.predecessor[v]) {
+            length++;
+        }
+        int[] arcs = new int[length];
+        for (int v = target, i = length - 1; v != source; v = space.predecessor[v], i--) {
+            arcs[i] = space.predecessorArc[v];
+        }
+        space.reset();
+
+        return compiledGraph.toResult(source, arcs, distance);
+    }
+}
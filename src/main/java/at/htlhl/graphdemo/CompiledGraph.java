@@ -0,0 +1,280 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Edge;
+import com.brunomnsilva.smartgraph.graph.Graph;
+import com.brunomnsilva.smartgraph.graph.Vertex;
+
+import java.util.*;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Array-Darstellung (CSR) eines ungerichteten Graphen für schnelle Abfragen.
+ * Jede Kante wird zu zwei gerichteten Bögen. Die Knoten werden beim Kompilieren
+ * optional neu nummeriert ({@link VertexOrdering}), damit benachbarte Knoten auch
+ * im Speicher nahe beieinander liegen.
+ * Die Übersetzung zwischen Array-Index und {@code Vertex<VertaxData>} bleibt erhalten,
+ * sodass Ergebnisse wieder mit den ursprünglichen Knoten und Kanten arbeiten.
+ */
+public class CompiledGraph {
+
+    private final VertexOrdering ordering;
+
+    // Übersetzung Index <-> Vertex
+    private final Vertex<VertaxData>[] vertices;
+    private final Map<Vertex<VertaxData>, Integer> indexOf;
+
+    // Adjazenz im CSR-Format: Bögen von v liegen in [firstArc[v], firstArc[v + 1])
+    private final int[] firstArc;
+    private final int[] arcTarget;
+    private final int[] arcWeight;
+    private final Edge<EdgeData, VertaxData>[] arcEdge;
+
+    private CompiledGraph(VertexOrdering ordering, Vertex<VertaxData>[] vertices, int[] firstArc,
+                          int[] arcTarget, int[] arcWeight, Edge<EdgeData, VertaxData>[] arcEdge) {
+        this.ordering = ordering;
+        this.vertices = vertices;
+        this.firstArc = firstArc;
+        this.arcTarget = arcTarget;
+        this.arcWeight = arcWeight;
+        this.arcEdge = arcEdge;
+
+        this.indexOf = new HashMap<>(vertices.length * 2);
+        for (int i = 0; i < vertices.length; i++) {
+            indexOf.put(vertices[i], i);
+        }
+    }
+
+    /**
+     * Kompiliert den Graphen ohne Neunummerierung.
+     */
+    public static CompiledGraph compile(Graph<VertaxData, EdgeData> graph) {
+        return compile(graph, VertexOrdering.INPUT);
+    }
+
+    /**
+     * Kompiliert den Graphen mit der angegebenen Knotenreihenfolge.
+     * @throws IllegalArgumentException bei {@link VertexOrdering#HILBERT}, da hierfür Koordinaten nötig sind
+     */
+    public static CompiledGraph compile(Graph<VertaxData, EdgeData> graph, VertexOrdering ordering) {
+        return compile(graph, ordering, null, null);
+    }
+
+    /**
+     * Kompiliert den Graphen mit der angegebenen Knotenreihenfolge.
+     * @param graph Der Graph aus {@link GraphControl}
+     * @param ordering Verfahren zur Neunummerierung
+     * @param x Liefert die X-Koordinate eines Knotens (nur für {@link VertexOrdering#HILBERT})
+     * @param y Liefert die Y-Koordinate eines Knotens (nur für {@link VertexOrdering#HILBERT})
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static CompiledGraph compile(Graph<VertaxData, EdgeData> graph, VertexOrdering ordering,
+                                        ToDoubleFunction<VertaxData> x, ToDoubleFunction<VertaxData> y) {
+        // Knoten in Eingabereihenfolge durchnummerieren
+        List<Vertex<VertaxData>> inputVertices = new ArrayList<>(graph.vertices());
+        int n = inputVertices.size();
+        Map<Vertex<VertaxData>, Integer> inputIndex = new HashMap<>(n * 2);
+        for (int i = 0; i < n; i++) {
+            inputIndex.put(inputVertices.get(i), i);
+        }
+
+        // Jede Kante wird zu zwei Bögen; Schleifen werden ignoriert
+        List<Edge<EdgeData, VertaxData>> edges = new ArrayList<>();
+        for (Edge<EdgeData, VertaxData> edge : graph.edges()) {
+            Vertex<VertaxData>[] ends = edge.vertices();
+            if (!ends[0].equals(ends[1])) {
+                edges.add(edge);
+            }
+        }
+        int m = edges.size() * 2;
+        int[] arcSource = new int[m];
+        int[] target = new int[m];
+        Edge<EdgeData, VertaxData>[] edgeOfArc = new Edge[m];
+        for (int e = 0; e < edges.size(); e++) {
+            Edge<EdgeData, VertaxData> edge = edges.get(e);
+            int u = inputIndex.get(edge.vertices()[0]);
+            int v = inputIndex.get(edge.vertices()[1]);
+            arcSource[2 * e] = u;
+            target[2 * e] = v;
+            arcSource[2 * e + 1] = v;
+            target[2 * e + 1] = u;
+            edgeOfArc[2 * e] = edge;
+            edgeOfArc[2 * e + 1] = edge;
+        }
+
+        // CSR in Eingabereihenfolge aufbauen, um die neue Reihenfolge zu berechnen
+        int[] inputFirst = new int[n + 1];
+        int[] inputArcs = new int[m];
+        bucketArcs(arcSource, n, inputFirst, inputArcs);
+        int[] inputTarget = new int[m];
+        for (int a = 0; a < m; a++) {
+            inputTarget[a] = target[inputArcs[a]];
+        }
+
+        double[] xs = null;
+        double[] ys = null;
+        if (x != null && y != null) {
+            xs = new double[n];
+            ys = new double[n];
+            for (int i = 0; i < n; i++) {
+                xs[i] = x.applyAsDouble(inputVertices.get(i).element());
+                ys[i] = y.applyAsDouble(inputVertices.get(i).element());
+            }
+        }
+
+        int[] order = ordering.computeOrder(inputFirst, inputTarget, xs, ys);
+        int[] newIndex = new int[n];
+        for (int i = 0; i < n; i++) {
+            newIndex[order[i]] = i;
+        }
+
+        // Endgültige Arrays in neuer Nummerierung, Bögen je Knoten nach Ziel sortiert
+        Vertex<VertaxData>[] vertices = new Vertex[n];
+        int[] firstArc = new int[n + 1];
+        int[] arcTarget = new int[m];
+        int[] arcWeight = new int[m];
+        Edge<EdgeData, VertaxData>[] arcEdge = new Edge[m];
+
+        int next = 0;
+        long[] keys = new long[m];
+        for (int v = 0; v < n; v++) {
+            int old = order[v];
+            vertices[v] = inputVertices.get(old);
+            firstArc[v] = next;
+
+            int from = next;
+            for (int i = inputFirst[old]; i < inputFirst[old + 1]; i++) {
+                int arc = inputArcs[i];
+                keys[next++] = ((long) newIndex[target[arc]] << 32) | arc;
+            }
+            Arrays.sort(keys, from, next);
+
+            for (int a = from; a < next; a++) {
+                int arc = (int) keys[a];
+                arcTarget[a] = (int) (keys[a] >>> 32);
+                arcWeight[a] = edgeOfArc[arc].element().getDistance();
+                arcEdge[a] = edgeOfArc[arc];
+            }
+        }
+        firstArc[n] = next;
+
+        return new CompiledGraph(ordering, vertices, firstArc, arcTarget, arcWeight, arcEdge);
+    }
+
+    /**
+     * Sortiert die Bögen stabil nach ihrem Startknoten (Counting Sort).
+     */
+    private static void bucketArcs(int[] arcSource, int n, int[] first, int[] arcs) {
+        for (int source : arcSource) {
+            first[source + 1]++;
+        }
+        for (int v = 0; v < n; v++) {
+            first[v + 1] += first[v];
+        }
+        int[] fill = Arrays.copyOf(first, n);
+        for (int a = 0; a < arcSource.length; a++) {
+            arcs[fill[arcSource[a]]++] = a;
+        }
+    }
+
+    /**
+     * Liest die Gewichte erneut aus den {@link EdgeData}-Objekten, z.B. nach einer
+     * Änderung über {@link EdgeData#setDistance(int)}. Die Struktur bleibt unverändert.
+     */
+    public void updateWeights() {
+        for (int a = 0; a < arcWeight.length; a++) {
+            arcWeight[a] = arcEdge[a].element().getDistance();
+        }
+    }
+
+    public VertexOrdering getOrdering() {
+        return ordering;
+    }
+
+    public int vertexCount() {
+        return vertices.length;
+    }
+
+    public int arcCount() {
+        return arcTarget.length;
+    }
+
+    /**
+     * @return Index des Knotens oder -1, falls er nicht im kompilierten Graphen enthalten ist
+     */
+    public int indexOf(Vertex<VertaxData> vertex) {
+        Integer index = indexOf.get(vertex);
+        return index != null ? index : -1;
+    }
+
+    public Vertex<VertaxData> vertex(int index) {
+        return vertices[index];
+    }
+
+    public int arcsBegin(int vertex) {
+        return firstArc[vertex];
+    }
+
+    public int arcsEnd(int vertex) {
+        return firstArc[vertex + 1];
+    }
+
+    public int arcTarget(int arc) {
+        return arcTarget[arc];
+    }
+
+    public int arcWeight(int arc) {
+        return arcWeight[arc];
+    }
+
+    public Edge<EdgeData, VertaxData> arcEdge(int arc) {
+        return arcEdge[arc];
+    }
+
+    /**
+     * Übersetzt einen Pfad aus Bogenindizes zurück in ein {@link DijkstraAlgorithm.DijkstraResult}
+     * mit den ursprünglichen Knoten und Kanten.
+     * @param source Index des Startknotens
+     * @param arcs Bögen des Pfades in Laufrichtung
+     * @param distance Gesamtdistanz
+     */
+    public DijkstraAlgorithm.DijkstraResult toResult(int source, int[] arcs, double distance) {
+        List<Vertex<VertaxData>> path = new ArrayList<>(arcs.length + 1);
+        List<Edge<EdgeData, VertaxData>> edges = new ArrayList<>(arcs.length);
+        path.add(vertices[source]);
+        for (int arc : arcs) {
+            path.add(vertices[arcTarget[arc]]);
+            edges.add(arcEdge[arc]);
+        }
+        return new DijkstraAlgorithm.DijkstraResult(path, distance, edges);
+    }
+
+    /**
+     * Durchschnittlicher Indexabstand zwischen den Endpunkten eines Bogens.
+     * Kleinere Werte bedeuten bessere Speicherlokalität beim Relaxieren.
+     */
+    public double averageArcSpan() {
+        if (arcTarget.length == 0) {
+            return 0;
+        }
+        long sum = 0;
+        for (int v = 0; v < vertices.length; v++) {
+            for (int a = firstArc[v]; a < firstArc[v + 1]; a++) {
+                sum += Math.abs(arcTarget[a] - v);
+            }
+        }
+        return (double) sum / arcTarget.length;
+    }
+
+    /**
+     * Bandbreite der Adjazenzmatrix (größter Indexabstand eines Bogens).
+     */
+    public int bandwidth() {
+        int max = 0;
+        for (int v = 0; v < vertices.length; v++) {
+            for (int a = firstArc[v]; a < firstArc[v + 1]; a++) {
+                max = Math.max(max, Math.abs(arcTarget[a] - v));
+            }
+        }
+        return max;
+    }
+}
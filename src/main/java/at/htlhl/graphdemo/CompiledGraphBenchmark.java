@@ -0,0 +1,382 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Graph;
+import com.brunomnsilva.smartgraph.graph.Vertex;
+
+import java.util.*;
+
+/**
+ * Benchmark für die Knoten-Neunummerierung des {@link CompiledGraph}.
+ * Erzeugt ein Gitter mit zufälliger Einfügereihenfolge, kompiliert es mit jeder
+ * {@link VertexOrdering} und misst:
+ * <ul>
+ *     <li>Lokalität der Adjazenz (durchschnittlicher Indexabstand, Bandbreite),</li>
+ *     <li>Cache-Misses pro Abfrage in einem simulierten L1-Cache (32 KiB, 8-fach assoziativ) und
+ *     L2-Cache (1 MiB, 16-fach assoziativ), jeweils mit 64-Byte-Zeilen,</li>
+ *     <li>die tatsächliche Laufzeit von {@link CompiledDijkstraAlgorithm} (bester von drei Durchläufen).</li>
+ * </ul>
+ * Die Simulation spielt alle Array-Zugriffe einer Abfrage ab, die auch
+ * {@link CompiledDijkstraAlgorithm} ausführt: Adjazenz, die Arrays des wiederverwendeten
+ * {@link SearchSpace} samt Zurücksetzen der berührten Einträge und die drei Arrays des
+ * {@link IndexedMinHeap}. Damit die Laufzeit
+ * aussagekräftig ist, sollte der Graph deutlich größer als der L2-Cache sein; die
+ * Standardgröße (500 x 500) belegt rund 25 MiB an Arrays.
+ * Die Hardware-Zähler der CPU sind aus Java nicht erreichbar; zur Gegenprobe kann
+ * der Benchmark unter {@code perf stat -e cache-misses} ausgeführt werden.
+ * <p>
+ * Aufruf: {@code CompiledGraphBenchmark [breite] [höhe] [abfragen]}
+ */
+public class CompiledGraphBenchmark {
+
+    private static final int CACHE_LINE = 64;
+    private static final int L1_SETS = 64;
+    private static final int L1_WAYS = 8;
+    private static final int L2_SETS = 1024;
+    private static final int L2_WAYS = 16;
+    private static final int SIMULATED_QUERIES = 20;
+    private static final int TIMING_ROUNDS = 3;
+
+    // Basisadressen der Arrays; weit auseinander und gegeneinander versetzt,
+    // damit gleiche Indizes nicht immer im selben Cache-Set landen
+    private static final long FIRST_ARC = 0L;
+    private static final long ARC_TARGET = (1L << 36) + 7 * CACHE_LINE;
+    private static final long ARC_WEIGHT = (2L << 36) + 19 * CACHE_LINE;
+    private static final long DISTANCE = (3L << 36) + 31 * CACHE_LINE;
+    private static final long PREDECESSOR_ARC = (4L << 36) + 43 * CACHE_LINE;
+    private static final long PREDECESSOR = (5L << 36) + 53 * CACHE_LINE;
+    private static final long SETTLED = (6L << 36) + 61 * CACHE_LINE;
+    private static final long HEAP = (7L << 36) + 11 * CACHE_LINE;
+    private static final long POSITION = (8L << 36) + 23 * CACHE_LINE;
+    private static final long KEY = (9L << 36) + 37 * CACHE_LINE;
+    private static final long TOUCHED = (10L << 36) + 47 * CACHE_LINE;
+
+    public static void main(String[] args) {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 500;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 500;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 100;
+
+        Random random = new Random(42);
+        Map<VertaxData, double[]> coordinates = new HashMap<>();
+        Graph<VertaxData, EdgeData> graph = GraphGenerator.shuffledGrid(width, height, random, coordinates);
+
+        List<Vertex<VertaxData>> vertices = new ArrayList<>(graph.vertices());
+        int[][] pairs = new int[queries][2];
+        for (int i = 0; i < queries; i++) {
+            pairs[i][0] = random.nextInt(vertices.size());
+            pairs[i][1] = random.nextInt(vertices.size());
+        }
+        int simulated = Math.min(queries, SIMULATED_QUERIES);
+
+        System.out.printf("Gitter %d x %d (%d Knoten, %d Kanten), %d Abfragen (%d simuliert)%n",
+                width, height, graph.numVertices(), graph.numEdges(), queries, simulated);
+        System.out.printf("%-22s %12s %10s %16s %16s %14s%n",
+                "Reihenfolge", "Ø Abstand", "Bandbr.", "L1-Misses/Abfr.", "L2-Misses/Abfr.", "µs/Abfrage");
+
+        for (VertexOrdering ordering : VertexOrdering.values()) {
+            CompiledGraph compiled = CompiledGraph.compile(graph, ordering,
+                    data -> coordinates.get(data)[0], data -> coordinates.get(data)[1]);
+
+            SimulatedCache l2 = new SimulatedCache(L2_SETS, L2_WAYS, null);
+            SimulatedCache l1 = new SimulatedCache(L1_SETS, L1_WAYS, l2);
+            TracedSearchSpace space = new TracedSearchSpace(compiled.vertexCount(), l1);
+            for (int i = 0; i < simulated; i++) {
+                simulateQuery(compiled, compiled.indexOf(vertices.get(pairs[i][0])),
+                        compiled.indexOf(vertices.get(pairs[i][1])), space, l1);
+            }
+
+            CompiledDijkstraAlgorithm engine = new CompiledDijkstraAlgorithm(compiled);
+            // Aufwärmen für den JIT-Compiler
+            for (int[] pair : pairs) {
+                engine.findShortestPath(vertices.get(pair[0]), vertices.get(pair[1]));
+            }
+            long best = Long.MAX_VALUE;
+            for (int round = 0; round < TIMING_ROUNDS; round++) {
+                long start = System.nanoTime();
+                for (int[] pair : pairs) {
+                    engine.findShortestPath(vertices.get(pair[0]), vertices.get(pair[1]));
+                }
+                best = Math.min(best, System.nanoTime() - start);
+            }
+            double micros = best / 1000.0 / queries;
+
+            System.out.printf("%-22s %12.1f %10d %16d %16d %14.1f%n", ordering, compiled.averageArcSpan(),
+                    compiled.bandwidth(), l1.misses / simulated, l2.misses / simulated, micros);
+        }
+    }
+
+    /**
+     * Führt dieselbe Suche wie {@link CompiledDijkstraAlgorithm} aus und spielt dabei jeden
+     * Zugriff auf die Arrays des Graphen, der Suche und der Prioritätswarteschlange im
+     * simulierten Cache ab, einschließlich Pfadrekonstruktion und Zurücksetzen.
+     */
+    private static void simulateQuery(CompiledGraph compiled, int source, int target,
+                                      TracedSearchSpace space, SimulatedCache cache) {
+        space.start(source);
+        while (!space.queue.isEmpty()) {
+            int u = space.settleNext();
+            if (u == target) {
+                break;
+            }
+
+            double du = space.distanceOf(u);
+            cache.access(FIRST_ARC + 4L * u);
+            cache.access(FIRST_ARC + 4L * (u + 1));
+            for (int a = compiled.arcsBegin(u); a < compiled.arcsEnd(u); a++) {
+                cache.access(ARC_TARGET + 4L * a);
+                cache.access(ARC_WEIGHT + 4L * a);
+                space.relax(compiled.arcTarget(a), du + compiled.arcWeight(a), u, a);
+            }
+        }
+
+        if (space.distanceOf(target) != Double.POSITIVE_INFINITY) {
+            for (int v = target; v != source; v = space.predecessorOf(v)) {
+                cache.access(PREDECESSOR_ARC + 4L * v);
+            }
+        }
+        space.reset();
+    }
+
+    /**
+     * Nachbau von {@link SearchSpace}, der jeden Array-Zugriff an den Cache meldet. Wie im
+     * Original werden die Arrays einmal angelegt und nach jeder Abfrage nur an den
+     * berührten Einträgen zurückgesetzt.
+     */
+    private static class TracedSearchSpace {
+        private final double[] distance;
+        private final int[] predecessor;
+        private final boolean[] settled;
+        private final int[] touched;
+        private final TracedHeap queue;
+        private final SimulatedCache cache;
+        private int touchedCount;
+
+        TracedSearchSpace(int vertexCount, SimulatedCache cache) {
+            distance = new double[vertexCount];
+            predecessor = new int[vertexCount];
+            settled = new boolean[vertexCount];
+            touched = new int[vertexCount];
+            queue = new TracedHeap(vertexCount, cache);
+            this.cache = cache;
+            Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        }
+
+        void start(int source) {
+            reset();
+            relax(source, 0.0, -1, -1);
+        }
+
+        void relax(int vertex, double newDistance, int from, int arc) {
+            cache.access(SETTLED + vertex);
+            if (settled[vertex] || newDistance >= distanceOf(vertex)) {
+                return;
+            }
+            if (distance[vertex] == Double.POSITIVE_INFINITY) {
+                cache.access(TOUCHED + 4L * touchedCount);
+                touched[touchedCount++] = vertex;
+            }
+            distance[vertex] = newDistance;
+            cache.access(PREDECESSOR + 4L * vertex);
+            predecessor[vertex] = from;
+            cache.access(PREDECESSOR_ARC + 4L * vertex);
+            queue.insertOrDecrease(vertex, newDistance);
+        }
+
+        int settleNext() {
+            int vertex = queue.poll();
+            cache.access(SETTLED + vertex);
+            settled[vertex] = true;
+            return vertex;
+        }
+
+        double distanceOf(int vertex) {
+            cache.access(DISTANCE + 8L * vertex);
+            return distance[vertex];
+        }
+
+        int predecessorOf(int vertex) {
+            cache.access(PREDECESSOR + 4L * vertex);
+            return predecessor[vertex];
+        }
+
+        void reset() {
+            for (int i = 0; i < touchedCount; i++) {
+                cache.access(TOUCHED + 4L * i);
+                int v = touched[i];
+                cache.access(DISTANCE + 8L * v);
+                distance[v] = Double.POSITIVE_INFINITY;
+                cache.access(SETTLED + v);
+                settled[v] = false;
+            }
+            touchedCount = 0;
+            queue.clear();
+        }
+    }
+
+    /**
+     * Nachbau von {@link IndexedMinHeap}, der jeden Array-Zugriff an den Cache meldet.
+     */
+    private static class TracedHeap {
+        private final int[] heap;
+        private final int[] position;
+        private final double[] key;
+        private final SimulatedCache cache;
+        private int size;
+
+        TracedHeap(int capacity, SimulatedCache cache) {
+            heap = new int[capacity];
+            position = new int[capacity];
+            key = new double[capacity];
+            Arrays.fill(position, -1);
+            this.cache = cache;
+        }
+
+        boolean isEmpty() {
+            return size == 0;
+        }
+
+        void clear() {
+            for (int i = 0; i < size; i++) {
+                setPosition(heapAt(i), -1);
+            }
+            size = 0;
+        }
+
+        private int heapAt(int pos) {
+            cache.access(HEAP + 4L * pos);
+            return heap[pos];
+        }
+
+        private void setHeap(int pos, int item) {
+            cache.access(HEAP + 4L * pos);
+            heap[pos] = item;
+        }
+
+        private int positionOf(int item) {
+            cache.access(POSITION + 4L * item);
+            return position[item];
+        }
+
+        private void setPosition(int item, int pos) {
+            cache.access(POSITION + 4L * item);
+            position[item] = pos;
+        }
+
+        private double keyOf(int item) {
+            cache.access(KEY + 8L * item);
+            return key[item];
+        }
+
+        void insertOrDecrease(int item, double newKey) {
+            int pos = positionOf(item);
+            if (pos < 0) {
+                pos = size++;
+                setHeap(pos, item);
+                setPosition(item, pos);
+            } else if (newKey >= keyOf(item)) {
+                return;
+            }
+            cache.access(KEY + 8L * item);
+            key[item] = newKey;
+            siftUp(pos);
+        }
+
+        int poll() {
+            int top = heapAt(0);
+            setPosition(top, -1);
+            size--;
+            if (size > 0) {
+                int last = heapAt(size);
+                setHeap(0, last);
+                setPosition(last, 0);
+                siftDown(0);
+            }
+            return top;
+        }
+
+        private void siftUp(int pos) {
+            int item = heapAt(pos);
+            double k = keyOf(item);
+            while (pos > 0) {
+                int parent = (pos - 1) >>> 1;
+                int parentItem = heapAt(parent);
+                if (keyOf(parentItem) <= k) {
+                    break;
+                }
+                setHeap(pos, parentItem);
+                setPosition(parentItem, pos);
+                pos = parent;
+            }
+            setHeap(pos, item);
+            setPosition(item, pos);
+        }
+
+        private void siftDown(int pos) {
+            int item = heapAt(pos);
+            double k = keyOf(item);
+            int half = size >>> 1;
+            while (pos < half) {
+                int child = 2 * pos + 1;
+                int right = child + 1;
+                if (right < size && keyOf(heapAt(right)) < keyOf(heapAt(child))) {
+                    child = right;
+                }
+                int childItem = heapAt(child);
+                if (k <= keyOf(childItem)) {
+                    break;
+                }
+                setHeap(pos, childItem);
+                setPosition(childItem, pos);
+                pos = child;
+            }
+            setHeap(pos, item);
+            setPosition(item, pos);
+        }
+    }
+
+    /**
+     * Mengenassoziativer Cache mit LRU-Ersetzung. Misses werden an die nächste Ebene
+     * weitergereicht, falls vorhanden.
+     */
+    private static class SimulatedCache {
+        private final int sets;
+        private final int ways;
+        private final long[] tags;
+        private final long[] lastUse;
+        private final SimulatedCache next;
+        private long clock;
+        private long misses;
+
+        SimulatedCache(int sets, int ways, SimulatedCache next) {
+            this.sets = sets;
+            this.ways = ways;
+            this.next = next;
+            tags = new long[sets * ways];
+            lastUse = new long[sets * ways];
+            Arrays.fill(tags, -1);
+        }
+
+        void access(long address) {
+            long line = address / CACHE_LINE;
+            int set = (int) (line % sets);
+            int base = set * ways;
+            clock++;
+
+            int victim = base;
+            for (int i = base; i < base + ways; i++) {
+                if (tags[i] == line) {
+                    lastUse[i] = clock;
+                    return;
+                }
+                if (lastUse[i] < lastUse[victim]) {
+                    victim = i;
+                }
+            }
+            misses++;
+            tags[victim] = line;
+            lastUse[victim] = clock;
+            if (next != null) {
+                next.access(address);
+            }
+        }
+    }
+}
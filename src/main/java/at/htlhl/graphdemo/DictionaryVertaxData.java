@@ -0,0 +1,31 @@
+package at.htlhl.graphdemo;
+
+/**
+ * Knotendaten, deren Name nur als ID in einem gemeinsamen {@link NameDictionary} gespeichert wird.
+ * Für große Graphen, bei denen nicht jeder Knoten einen eigenen String halten soll; der Name
+ * wird erst bei {@link #getName()} dekodiert. Ein Objekt belegt damit 24 Byte statt der
+ * etwa 56 Byte plus Namenslänge von {@link StringVertaxData}.
+ */
+public class DictionaryVertaxData extends VertaxData {
+
+    private final NameDictionary dictionary;
+    private final int nameId;
+
+    public DictionaryVertaxData(NameDictionary dictionary, int nameId) {
+        this.dictionary = dictionary;
+        this.nameId = nameId;
+    }
+
+    @Override
+    public String getName() {
+        return dictionary.name(nameId);
+    }
+
+    public NameDictionary getDictionary() {
+        return dictionary;
+    }
+
+    public int getNameId() {
+        return nameId;
+    }
+}
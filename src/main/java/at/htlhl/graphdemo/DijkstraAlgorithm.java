@@ -10,7 +10,7 @@ import java.util.*;
  * Implementierung des Dijkstra-Algorithmus zur Berechnung des kürzesten Pfades
  * zwischen zwei Knoten in einem Graphen.
  */
-public class DijkstraAlgorithm {
+public class DijkstraAlgorithm implements ShortestPathEngine {
 
     private final Graph<VertaxData, EdgeData> graph;
 
@@ -28,6 +28,7 @@ public class DijkstraAlgorithm {
      * @param endVertex Zielknoten
      * @return DijkstraResult mit Pfad, Distanz und verwendeten Kanten
      */
+    @Override
     public DijkstraResult findShortestPath(Vertex<VertaxData> startVertex, Vertex<VertaxData> endVertex) {
         // Validierung
         if (startVertex == null || endVertex == null) {
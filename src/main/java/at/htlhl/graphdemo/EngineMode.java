@@ -0,0 +1,84 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Graph;
+
+/**
+ * Alle verfügbaren Verfahren zur Berechnung kürzester Pfade mit ihrer Standardkonfiguration.
+ * Wird vom {@link LoadHarness} und von den Tests verwendet, um die Verfahren einheitlich
+ * zu erzeugen und miteinander zu vergleichen.
+ */
+public enum EngineMode {
+
+    /** {@link DijkstraAlgorithm} direkt auf dem SmartGraph-Graphen. */
+    DIJKSTRA("dijkstra"),
+
+    /** {@link CompiledDijkstraAlgorithm} ohne Neunummerierung. */
+    COMPILED("compiled"),
+
+    /** {@link CompiledDijkstraAlgorithm} mit Reverse-Cuthill-McKee-Nummerierung. */
+    COMPILED_RCM("compiled-rcm"),
+
+    /** {@link OverlayDijkstraAlgorithm} mit zwei Ebenen (Zellen bis 256 bzw. 4096 Knoten). */
+    OVERLAY("overlay"),
+
+    /** {@link ShardCoordinator} mit vier Shards über {@link LoopbackShardTransport}. */
+    SHARDED("sharded");
+
+    static final int[] OVERLAY_CELL_SIZES = {256, 4096};
+    private static final int SHARD_COUNT = 4;
+
+    private final String cliName;
+
+    EngineMode(String cliName) {
+        this.cliName = cliName;
+    }
+
+    /**
+     * Name für Kommandozeile und Berichte, z.B. "compiled-rcm".
+     */
+    public String getCliName() {
+        return cliName;
+    }
+
+    /**
+     * @throws IllegalArgumentException bei unbekanntem Namen
+     */
+    public static EngineMode fromCliName(String name) {
+        for (EngineMode mode : values()) {
+            if (mode.cliName.equalsIgnoreCase(name)) {
+                return mode;
+            }
+        }
+        throw new IllegalArgumentException("Unbekanntes Verfahren: " + name);
+    }
+
+    /**
+     * Erstellt das Verfahren inklusive aller Vorverarbeitungsschritte.
+     * Das Verfahren muss nach Gebrauch mit {@link ShortestPathEngine#close()} geschlossen
+     * werden, da z.B. {@link #SHARDED} eigene Threads startet.
+     */
+    public ShortestPathEngine create(Graph<VertaxData, EdgeData> graph) {
+        switch (this) {
+            case DIJKSTRA:
+                return new DijkstraAlgorithm(graph);
+            case COMPILED:
+                return new CompiledDijkstraAlgorithm(CompiledGraph.compile(graph));
+            case COMPILED_RCM:
+                return new CompiledDijkstraAlgorithm(CompiledGraph.compile(graph, VertexOrdering.REVERSE_CUTHILL_MCKEE));
+            case OVERLAY: {
+                CompiledGraph compiled = CompiledGraph.compile(graph, VertexOrdering.REVERSE_CUTHILL_MCKEE);
+                GraphPartition partition = GraphPartition.create(compiled, OVERLAY_CELL_SIZES);
+                return new OverlayDijkstraAlgorithm(MultiLevelOverlay.build(compiled, partition));
+            }
+            case SHARDED: {
+                CompiledGraph compiled = CompiledGraph.compile(graph, VertexOrdering.REVERSE_CUTHILL_MCKEE);
+                ShardDirectory directory = ShardDirectory.of(compiled);
+                int[] shardOf = ShardCoordinator.assignShards(compiled, SHARD_COUNT);
+                RoutingShard[] shards = RoutingShard.createShards(directory, shardOf, SHARD_COUNT);
+                return new ShardCoordinator(directory, shardOf, new LoopbackShardTransport(shards));
+            }
+            default:
+                throw new IllegalStateException("Unbekanntes Verfahren: " + this);
+        }
+    }
+}
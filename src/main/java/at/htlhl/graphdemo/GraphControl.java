@@ -5,70 +5,96 @@ import com.brunomnsilva.smartgraph.graph.Graph;
 
 public class GraphControl {
 
+    // Einzige Liste der Städte: daraus entstehen Wörterbuch und Knoten
+    private static final String[] CITY_NAMES = {
+            "Seattle", "San Francisco", "Los Angeles", "Riverside", "Phoenix", "Chicago", "Boston",
+            "New York", "Atlanta", "Miami", "Dallas", "Houston", "Detroit", "Philadelphia", "Washington"
+    };
+
     private Graph<VertaxData, EdgeData> graph;
+    private NameDictionary cityNames;
+    private VertaxData[] cities;
+    private VertexNameIndex nameIndex;
 
     public GraphControl() {
         graph = new GraphEdgeList<>();
         buildGraph();
+        nameIndex = VertexNameIndex.build(graph.vertices());
+    }
+
+    /**
+     * Verwendet einen bereits erstellten Graphen, z.B. aus {@link GraphGenerator}.
+     */
+    public GraphControl(Graph<VertaxData, EdgeData> graph) {
+        this.graph = graph;
+        nameIndex = VertexNameIndex.build(graph.vertices());
     }
 
     /**
      * Erstellt den Graphen mit allen Städten und Verbindungen.
      */
     private void buildGraph() {
-        // Erstelle alle Städte
-        VertaxData seattle = createCityAndInsert("Seattle");
-        VertaxData sanFrancisco = createCityAndInsert("San Francisco");
-        VertaxData losAngeles = createCityAndInsert("Los Angeles");
-        VertaxData riverside = createCityAndInsert("Riverside");
-        VertaxData phoenix = createCityAndInsert("Phoenix");
-        VertaxData chicago = createCityAndInsert("Chicago");
-        VertaxData boston = createCityAndInsert("Boston");
-        VertaxData newYork = createCityAndInsert("New York");
-        VertaxData atlanta = createCityAndInsert("Atlanta");
-        VertaxData miami = createCityAndInsert("Miami");
-        VertaxData dallas = createCityAndInsert("Dallas");
-        VertaxData houston = createCityAndInsert("Houston");
-        VertaxData detroit = createCityAndInsert("Detroit");
-        VertaxData philadelphia = createCityAndInsert("Philadelphia");
-        VertaxData washington = createCityAndInsert("Washington");
+        // Erstelle alle Städte; die Namen liegen nur einmal im gemeinsamen Wörterbuch
+        NameDictionary.Builder names = new NameDictionary.Builder();
+        for (String name : CITY_NAMES) {
+            names.add(name);
+        }
+        cityNames = names.build();
+        cities = new VertaxData[cityNames.size()];
+        for (int id = 0; id < cities.length; id++) {
+            cities[id] = new DictionaryVertaxData(cityNames, id);
+            graph.insertVertex(cities[id]);
+        }
 
         // Füge alle Kanten mit den gegebenen Distanzen hinzu
-        graph.insertEdge(seattle, chicago, new EdgeData(1737));
-        graph.insertEdge(seattle, sanFrancisco, new EdgeData(678));
-        graph.insertEdge(sanFrancisco, riverside, new EdgeData(386));
-        graph.insertEdge(sanFrancisco, losAngeles, new EdgeData(348));
-        graph.insertEdge(losAngeles, riverside, new EdgeData(50));
-        graph.insertEdge(losAngeles, phoenix, new EdgeData(357));
-        graph.insertEdge(riverside, phoenix, new EdgeData(307));
-        graph.insertEdge(riverside, chicago, new EdgeData(1704));
-        graph.insertEdge(phoenix, dallas, new EdgeData(887));
-        graph.insertEdge(phoenix, houston, new EdgeData(1015));
-        graph.insertEdge(dallas, chicago, new EdgeData(805));
-        graph.insertEdge(dallas, atlanta, new EdgeData(721));
-        graph.insertEdge(dallas, houston, new EdgeData(225));
-        graph.insertEdge(houston, atlanta, new EdgeData(702));
-        graph.insertEdge(houston, miami, new EdgeData(968));
-        graph.insertEdge(atlanta, chicago, new EdgeData(588));
-        graph.insertEdge(atlanta, washington, new EdgeData(543));
-        graph.insertEdge(atlanta, miami, new EdgeData(604));
-        graph.insertEdge(miami, washington, new EdgeData(923));
-        graph.insertEdge(chicago, detroit, new EdgeData(238));
-        graph.insertEdge(detroit, boston, new EdgeData(613));
-        graph.insertEdge(detroit, washington, new EdgeData(396));
-        graph.insertEdge(detroit, newYork, new EdgeData(482));
-        graph.insertEdge(boston, newYork, new EdgeData(190));
-        graph.insertEdge(newYork, philadelphia, new EdgeData(81));
-        graph.insertEdge(philadelphia, washington, new EdgeData(123));
+        connect("Seattle", "Chicago", 1737);
+        connect("Seattle", "San Francisco", 678);
+        connect("San Francisco", "Riverside", 386);
+        connect("San Francisco", "Los Angeles", 348);
+        connect("Los Angeles", "Riverside", 50);
+        connect("Los Angeles", "Phoenix", 357);
+        connect("Riverside", "Phoenix", 307);
+        connect("Riverside", "Chicago", 1704);
+        connect("Phoenix", "Dallas", 887);
+        connect("Phoenix", "Houston", 1015);
+        connect("Dallas", "Chicago", 805);
+        connect("Dallas", "Atlanta", 721);
+        connect("Dallas", "Houston", 225);
+        connect("Houston", "Atlanta", 702);
+        connect("Houston", "Miami", 968);
+        connect("Atlanta", "Chicago", 588);
+        connect("Atlanta", "Washington", 543);
+        connect("Atlanta", "Miami", 604);
+        connect("Miami", "Washington", 923);
+        connect("Chicago", "Detroit", 238);
+        connect("Detroit", "Boston", 613);
+        connect("Detroit", "Washington", 396);
+        connect("Detroit", "New York", 482);
+        connect("Boston", "New York", 190);
+        connect("New York", "Philadelphia", 81);
+        connect("Philadelphia", "Washington", 123);
     }
 
-    private VertaxData createCityAndInsert(String name) {
-        VertaxData city = new VertaxData(name);
-        graph.insertVertex(city);
-        return  city;
+    private void connect(String from, String to, int distance) {
+        graph.insertEdge(city(from), city(to), new EdgeData(distance));
+    }
+
+    private VertaxData city(String name) {
+        int id = cityNames.find(name);
+        if (id < 0) {
+            throw new IllegalArgumentException("Unbekannte Stadt: " + name);
+        }
+        return cities[id];
     }
 
     public Graph<VertaxData, EdgeData> getGraph() {
         return graph;
     }
+
+    /**
+     * Namensindex für die Suche nach Städten.
+     */
+    public VertexNameIndex getNameIndex() {
+        return nameIndex;
+    }
 }
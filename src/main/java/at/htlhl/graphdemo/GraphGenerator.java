@@ -0,0 +1,63 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Graph;
+import com.brunomnsilva.smartgraph.graph.GraphEdgeList;
+
+import java.util.*;
+
+/**
+ * Erzeugt synthetische Graphen für Benchmarks und Lasttests.
+ */
+public final class GraphGenerator {
+
+    private GraphGenerator() {
+    }
+
+    /**
+     * Erzeugt ein Gitter mit zufälligen Kantengewichten (1 bis 100). Die Knoten werden in
+     * zufälliger Reihenfolge eingefügt, wie es bei realen Daten üblich ist.
+     * @param coordinates Wird mit der Gitterposition jedes Knotens gefüllt (darf null sein)
+     */
+    public static Graph<VertaxData, EdgeData> shuffledGrid(int width, int height, Random random,
+                                                          Map<VertaxData, double[]> coordinates) {
+        Graph<VertaxData, EdgeData> graph = new GraphEdgeList<>();
+        VertaxData[][] cells = new VertaxData[width][height];
+        List<VertaxData> insertOrder = new ArrayList<>();
+
+        // Namen einmal im gemeinsamen Wörterbuch ablegen; die Knoten halten nur die ID
+        NameDictionary.Builder names = new NameDictionary.Builder();
+        int[][] nameIds = new int[width][height];
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                nameIds[x][y] = names.add("V" + x + "_" + y);
+            }
+        }
+        NameDictionary dictionary = names.build();
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                cells[x][y] = new DictionaryVertaxData(dictionary, nameIds[x][y]);
+                if (coordinates != null) {
+                    coordinates.put(cells[x][y], new double[]{x, y});
+                }
+                insertOrder.add(cells[x][y]);
+            }
+        }
+        Collections.shuffle(insertOrder, random);
+        for (VertaxData data : insertOrder) {
+            graph.insertVertex(data);
+        }
+
+        for (int x = 0; x < width; x++) {
+            for (int y = 0; y < height; y++) {
+                if (x + 1 < width) {
+                    graph.insertEdge(cells[x][y], cells[x + 1][y], new EdgeData(1 + random.nextInt(100)));
+                }
+                if (y + 1 < height) {
+                    graph.insertEdge(cells[x][y], cells[x][y + 1], new EdgeData(1 + random.nextInt(100)));
+                }
+            }
+        }
+        return graph;
+    }
+}
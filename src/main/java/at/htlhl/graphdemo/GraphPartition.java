@@ -0,0 +1,291 @@
+package at.htlhl.graphdemo;
+
+import java.util.Arrays;
+
+/**
+ * Mehrstufige, verschachtelte Zerlegung eines {@link CompiledGraph} in Zellen.
+ * Ebene 1 enthält die kleinsten Zellen; jede Zelle einer höheren Ebene ist die
+ * Vereinigung mehrerer Zellen der Ebene darunter. Ebene 0 steht für den Graphen
+ * selbst und wird nicht gespeichert.
+ * <p>
+ * Die Zellen entstehen in zwei Schritten: Zuerst wachsen sie per Breitensuche ab noch nicht
+ * zugeordneten Knoten bis zur halben Maximalgröße. Da die Suche in Indexreihenfolge startet,
+ * liefert ein zuvor mit {@link VertexOrdering} lokal nummerierter Graph kompaktere Zellen.
+ * Danach werden Zellen bis zur halben Maximalgröße, beginnend mit der kleinsten, mit der
+ * Nachbarzelle zusammengelegt, zu der die meisten Bögen führen. Da die Nachbarn dabei noch
+ * Platz haben, bleiben kaum die winzigen Restzellen übrig, die zwischen vollen Zellen entstehen.
+ */
+public class GraphPartition {
+
+    // cellOf[level - 1][vertex] = Zelle des Knotens auf der Ebene
+    private final int[][] cellOf;
+    private final int[] cellCount;
+
+    private GraphPartition(int[][] cellOf, int[] cellCount) {
+        this.cellOf = cellOf;
+        this.cellCount = cellCount;
+    }
+
+    /**
+     * Zerlegt den Graphen.
+     * @param graph Der kompilierte Graph
+     * @param maxCellSizes Maximale Knotenzahl pro Zelle je Ebene, aufsteigend (z.B. 64, 1024)
+     */
+    public static GraphPartition create(CompiledGraph graph, int... maxCellSizes) {
+        if (maxCellSizes.length == 0) {
+            throw new IllegalArgumentException("Mindestens eine Ebene erforderlich");
+        }
+        for (int i = 0; i < maxCellSizes.length; i++) {
+            if (maxCellSizes[i] < 1 || (i > 0 && maxCellSizes[i] <= maxCellSizes[i - 1])) {
+                throw new IllegalArgumentException("Zellgrößen müssen positiv und aufsteigend sein");
+            }
+        }
+
+        int n = graph.vertexCount();
+        int levels = maxCellSizes.length;
+        int[][] cellOf = new int[levels][];
+        int[] cellCount = new int[levels];
+
+        // Ebene 1: Zellen direkt aus den Knoten wachsen lassen
+        int[] identity = new int[n];
+        int[] unitSize = new int[n];
+        for (int v = 0; v < n; v++) {
+            identity[v] = v;
+            unitSize[v] = 1;
+        }
+        int[] unitFirst = new int[n + 1];
+        int[] unitArcs = new int[graph.arcCount()];
+        for (int v = 0; v < n; v++) {
+            unitFirst[v + 1] = graph.arcsEnd(v);
+            for (int a = graph.arcsBegin(v); a < graph.arcsEnd(v); a++) {
+                unitArcs[a] = graph.arcTarget(a);
+            }
+        }
+
+        cellOf[0] = new int[n];
+        int grown = growCells(n, unitFirst, unitArcs, unitSize, half(maxCellSizes[0]), identity, cellOf[0]);
+        cellCount[0] = mergeSmallCells(n, unitFirst, unitArcs, unitSize, maxCellSizes[0], cellOf[0], grown);
+
+        // Höhere Ebenen: Zellen der Ebene darunter zusammenfassen
+        for (int level = 1; level < levels; level++) {
+            int[] lower = cellOf[level - 1];
+            int lowerCount = cellCount[level - 1];
+
+            int[] size = new int[lowerCount];
+            for (int v = 0; v < n; v++) {
+                size[lower[v]]++;
+            }
+
+            // Nachbarschaftsgraph der Zellen (mit Mehrfachkanten, reicht für die Breitensuche)
+            int[] first = new int[lowerCount + 1];
+            for (int v = 0; v < n; v++) {
+                for (int a = graph.arcsBegin(v); a < graph.arcsEnd(v); a++) {
+                    if (lower[v] != lower[graph.arcTarget(a)]) {
+                        first[lower[v] + 1]++;
+                    }
+                }
+            }
+            for (int c = 0; c < lowerCount; c++) {
+                first[c + 1] += first[c];
+            }
+            int[] targets = new int[first[lowerCount]];
+            int[] fill = Arrays.copyOf(first, lowerCount);
+            for (int v = 0; v < n; v++) {
+                for (int a = graph.arcsBegin(v); a < graph.arcsEnd(v); a++) {
+                    int w = graph.arcTarget(a);
+                    if (lower[v] != lower[w]) {
+                        targets[fill[lower[v]]++] = lower[w];
+                    }
+                }
+            }
+
+            int[] groupOf = new int[lowerCount];
+            int[] lowerIds = new int[lowerCount];
+            for (int c = 0; c < lowerCount; c++) {
+                lowerIds[c] = c;
+            }
+            grown = growCells(lowerCount, first, targets, size, half(maxCellSizes[level]), lowerIds, groupOf);
+            cellCount[level] = mergeSmallCells(lowerCount, first, targets, size, maxCellSizes[level], groupOf, grown);
+
+            cellOf[level] = new int[n];
+            for (int v = 0; v < n; v++) {
+                cellOf[level][v] = groupOf[lower[v]];
+            }
+        }
+
+        return new GraphPartition(cellOf, cellCount);
+    }
+
+    /**
+     * Fasst Einheiten per Breitensuche zu Zellen zusammen, solange die Summe der
+     * Größen die Obergrenze nicht überschreitet.
+     * @return Anzahl der erzeugten Zellen
+     */
+    private static int growCells(int units, int[] first, int[] targets, int[] size, int maxSize,
+                                 int[] seedOrder, int[] cellOfUnit) {
+        Arrays.fill(cellOfUnit, -1);
+        int[] queue = new int[units];
+        int cells = 0;
+
+        for (int seed : seedOrder) {
+            if (cellOfUnit[seed] >= 0) {
+                continue;
+            }
+            int cell = cells++;
+            int total = size[seed];
+            int head = 0;
+            int tail = 0;
+            cellOfUnit[seed] = cell;
+            queue[tail++] = seed;
+
+            while (head < tail) {
+                int u = queue[head++];
+                for (int a = first[u]; a < first[u + 1]; a++) {
+                    int v = targets[a];
+                    if (cellOfUnit[v] < 0 && total + size[v] <= maxSize) {
+                        cellOfUnit[v] = cell;
+                        total += size[v];
+                        queue[tail++] = v;
+                    }
+                }
+            }
+        }
+        return cells;
+    }
+
+    private static int half(int maxSize) {
+        return Math.max(1, maxSize / 2);
+    }
+
+    /**
+     * Legt Zellen bis zur halben Maximalgröße mit der Nachbarzelle zusammen, zu der die
+     * meisten Bögen führen und die noch Platz hat. Kleine Zellen kommen zuerst an die Reihe;
+     * wiederholt, bis sich nichts mehr ändert. Danach werden die Zellen in der Reihenfolge
+     * ihrer ersten Einheit neu nummeriert.
+     * @param cellOfUnit Zelle je Einheit; wird auf die zusammengelegten Zellen umgeschrieben
+     * @return Anzahl der verbleibenden Zellen
+     */
+    private static int mergeSmallCells(int units, int[] first, int[] targets, int[] size, int maxSize,
+                                       int[] cellOfUnit, int cells) {
+        // Einheiten je Zelle als verkettete Listen, damit Zusammenlegen O(1) kostet
+        int[] head = new int[cells];
+        int[] tail = new int[cells];
+        int[] next = new int[units];
+        int[] cellSize = new int[cells];
+        Arrays.fill(head, -1);
+        for (int u = units - 1; u >= 0; u--) {
+            int cell = cellOfUnit[u];
+            if (head[cell] < 0) {
+                tail[cell] = u;
+            }
+            next[u] = head[cell];
+            head[cell] = u;
+            cellSize[cell] += size[u];
+        }
+
+        int[] arcsTo = new int[cells];
+        int[] neighbours = new int[cells];
+        boolean merged = true;
+        while (merged) {
+            merged = false;
+            for (int cell : bySize(cellSize)) {
+                if (head[cell] < 0 || 2 * cellSize[cell] > maxSize) {
+                    continue;
+                }
+
+                // Bögen zu jeder Nachbarzelle zählen
+                int count = 0;
+                for (int u = head[cell]; u >= 0; u = next[u]) {
+                    for (int a = first[u]; a < first[u + 1]; a++) {
+                        int other = cellOfUnit[targets[a]];
+                        if (other != cell) {
+                            if (arcsTo[other] == 0) {
+                                neighbours[count++] = other;
+                            }
+                            arcsTo[other]++;
+                        }
+                    }
+                }
+                int best = -1;
+                for (int i = 0; i < count; i++) {
+                    int other = neighbours[i];
+                    if (cellSize[cell] + cellSize[other] <= maxSize
+                            && (best < 0 || arcsTo[other] > arcsTo[best])) {
+                        best = other;
+                    }
+                }
+                for (int i = 0; i < count; i++) {
+                    arcsTo[neighbours[i]] = 0;
+                }
+                if (best < 0) {
+                    continue;
+                }
+
+                for (int u = head[cell]; u >= 0; u = next[u]) {
+                    cellOfUnit[u] = best;
+                }
+                next[tail[best]] = head[cell];
+                tail[best] = tail[cell];
+                cellSize[best] += cellSize[cell];
+                head[cell] = -1;
+                merged = true;
+            }
+        }
+
+        int[] renumber = new int[cells];
+        Arrays.fill(renumber, -1);
+        int remaining = 0;
+        for (int u = 0; u < units; u++) {
+            int cell = cellOfUnit[u];
+            if (renumber[cell] < 0) {
+                renumber[cell] = remaining++;
+            }
+            cellOfUnit[u] = renumber[cell];
+        }
+        return remaining;
+    }
+
+    /**
+     * @return Zellen aufsteigend nach Größe (Counting Sort, bei gleicher Größe nach Nummer)
+     */
+    private static int[] bySize(int[] cellSize) {
+        int max = 0;
+        for (int size : cellSize) {
+            max = Math.max(max, size);
+        }
+        int[] start = new int[max + 2];
+        for (int size : cellSize) {
+            start[size + 1]++;
+        }
+        for (int size = 0; size <= max; size++) {
+            start[size + 1] += start[size];
+        }
+        int[] order = new int[cellSize.length];
+        for (int cell = 0; cell < cellSize.length; cell++) {
+            order[start[cellSize[cell]]++] = cell;
+        }
+        return order;
+    }
+
+    /**
+     * @return Anzahl der gespeicherten Ebenen (ohne Ebene 0)
+     */
+    public int levelCount() {
+        return cellOf.length;
+    }
+
+    /**
+     * @param level Ebene ab 1
+     */
+    public int cellCount(int level) {
+        return cellCount[level - 1];
+    }
+
+    /**
+     * @param level Ebene ab 1
+     * @param vertex Knotenindex im kompilierten Graphen
+     */
+    public int cellOf(int level, int vertex) {
+        return cellOf[level - 1][vertex];
+    }
+}
@@ -10,6 +10,7 @@ import javafx.scene.Node;
 import javafx.scene.control.*;
 import javafx.scene.layout.BorderPane;
 import javafx.scene.layout.HBox;
+import javafx.util.StringConverter;
 
 import java.util.ArrayList;
 import java.util.List;
@@ -20,6 +21,9 @@ import java.util.List;
  */
 public class GraphView extends BorderPane {
 
+    // Maximale Anzahl an Vorschlägen in den Auswahllisten
+    private static final int MAX_SUGGESTIONS = 50;
+
     private SmartGraphPanel<VertaxData, EdgeData> smartGraphPanel;
     private ContentZoomScrollPane contentZoomScrollPane;
     private final GraphControl graphControl;
@@ -40,6 +44,9 @@ public class GraphView extends BorderPane {
     // Doppelklick-State: true = nächster Klick setzt Start, false = nächster Klick setzt Ziel
     private boolean nextClickIsStart = true;
 
+    // Verhindert Rekursion, während die Vorschlagsliste ausgetauscht wird
+    private boolean updatingSuggestions = false;
+
     public GraphView(GraphControl graphControl) {
         super();
 
@@ -85,11 +92,9 @@ public class GraphView extends BorderPane {
         startNodeComboBox = new ComboBox<>();
         endNodeComboBox = new ComboBox<>();
 
-        // Fülle ComboBoxen mit allen Knoten
-        for (Vertex<VertaxData> vertex : graphControl.getGraph().vertices()) {
-            startNodeComboBox.getItems().add(vertex);
-            endNodeComboBox.getItems().add(vertex);
-        }
+        // Autovervollständigung über den Namensindex statt aller Knoten
+        setupAutocomplete(startNodeComboBox);
+        setupAutocomplete(endNodeComboBox);
 
         // Verwende den Namen der Stadt für die Anzeige
         startNodeComboBox.setCellFactory(param -> new VertexListCell());
@@ -123,10 +128,53 @@ public class GraphView extends BorderPane {
         return new ToolBar(hbox);
     }
 
+    /**
+     * Macht die ComboBox editierbar und zeigt beim Tippen passende Städte aus dem
+     * Namensindex an. Es werden höchstens {@link #MAX_SUGGESTIONS} Knoten geladen.
+     */
+    private void setupAutocomplete(ComboBox<Vertex<VertaxData>> comboBox) {
+        VertexNameIndex nameIndex = graphControl.getNameIndex();
+
+        comboBox.setEditable(true);
+        comboBox.setConverter(new VertexStringConverter(nameIndex));
+        comboBox.getItems().setAll(nameIndex.findByPrefix("", MAX_SUGGESTIONS));
+
+        comboBox.getEditor().textProperty().addListener((obs, oldText, newText) -> {
+            if (updatingSuggestions || newText == null) {
+                return;
+            }
+            // Text stammt von der gewählten Stadt, keine neuen Vorschläge nötig
+            Vertex<VertaxData> selected = comboBox.getValue();
+            if (selected != null && selected.element().getName().equals(newText)) {
+                return;
+            }
+
+            updatingSuggestions = true;
+            try {
+                comboBox.getItems().setAll(nameIndex.findByPrefix(newText, MAX_SUGGESTIONS));
+                // Das Austauschen der Einträge kann den eingegebenen Text zurücksetzen
+                if (!newText.equals(comboBox.getEditor().getText())) {
+                    comboBox.getEditor().setText(newText);
+                    comboBox.getEditor().positionCaret(newText.length());
+                }
+            } finally {
+                updatingSuggestions = false;
+            }
+
+            if (comboBox.getEditor().isFocused() && !comboBox.getItems().isEmpty()) {
+                comboBox.show();
+            }
+        });
+    }
+
     /**
      * Berechnet den kürzesten Pfad und zeigt das Ergebnis an.
      */
     private void calculateShortestPath() {
+        // Eingetippten Text übernehmen, falls noch nicht mit Enter bestätigt
+        startNodeComboBox.commitValue();
+        endNodeComboBox.commitValue();
+
         // Validierung: Prüfe, ob beide Knoten ausgewählt wurden
         Vertex<VertaxData> startVertex = startNodeComboBox.getValue();
         Vertex<VertaxData> endVertex = endNodeComboBox.getValue();
@@ -392,6 +440,31 @@ public class GraphView extends BorderPane {
         return menu;
     }
 
+    /**
+     * Wandelt zwischen Stadtname und Knoten um; die Suche läuft über den Namensindex.
+     */
+    private static class VertexStringConverter extends StringConverter<Vertex<VertaxData>> {
+        private final VertexNameIndex nameIndex;
+
+        VertexStringConverter(VertexNameIndex nameIndex) {
+            this.nameIndex = nameIndex;
+        }
+
+        @Override
+        public String toString(Vertex<VertaxData> vertex) {
+            return vertex == null ? "" : vertex.element().getName();
+        }
+
+        @Override
+        public Vertex<VertaxData> fromString(String name) {
+            if (name == null || name.isBlank()) {
+                return null;
+            }
+            // Groß-/Kleinschreibung ignorieren, z.B. "new york"
+            return nameIndex.findFirstIgnoreCase(name.trim());
+        }
+    }
+
     /**
      * Custom ListCell für die Darstellung von Vertices in ComboBoxen.
      */
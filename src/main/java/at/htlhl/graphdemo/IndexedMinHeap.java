@@ -0,0 +1,115 @@
+package at.htlhl.graphdemo;
+
+import java.util.Arrays;
+
+/**
+ * Binärer Min-Heap über Knotenindizes mit Decrease-Key.
+ * Arbeitet ausschließlich auf primitiven Arrays, damit beim Relaxieren
+ * keine Objekte erzeugt werden.
+ */
+final class IndexedMinHeap {
+
+    private final int[] heap;
+    private final int[] position;
+    private final double[] key;
+    private int size;
+
+    IndexedMinHeap(int capacity) {
+        heap = new int[capacity];
+        position = new int[capacity];
+        key = new double[capacity];
+        Arrays.fill(position, -1);
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    boolean contains(int item) {
+        return position[item] >= 0;
+    }
+
+    double peekKey() {
+        return key[heap[0]];
+    }
+
+    /**
+     * Fügt ein Element ein oder verringert seinen Schlüssel, falls es bereits enthalten ist.
+     */
+    void insertOrDecrease(int item, double newKey) {
+        int pos = position[item];
+        if (pos < 0) {
+            pos = size++;
+            heap[pos] = item;
+            position[item] = pos;
+        } else if (newKey >= key[item]) {
+            return;
+        }
+        key[item] = newKey;
+        siftUp(pos);
+    }
+
+    /**
+     * Entfernt das Element mit dem kleinsten Schlüssel und gibt es zurück.
+     */
+    int poll() {
+        int top = heap[0];
+        position[top] = -1;
+        size--;
+        if (size > 0) {
+            int last = heap[size];
+            heap[0] = last;
+            position[last] = 0;
+            siftDown(0);
+        }
+        return top;
+    }
+
+    /**
+     * Leert den Heap, ohne die Arrays neu anzulegen.
+     */
+    void clear() {
+        for (int i = 0; i < size; i++) {
+            position[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void siftUp(int pos) {
+        int item = heap[pos];
+        double k = key[item];
+        while (pos > 0) {
+            int parent = (pos - 1) >>> 1;
+            int parentItem = heap[parent];
+            if (key[parentItem] <= k) {
+                break;
+            }
+            heap[pos] = parentItem;
+            position[parentItem] = pos;
+            pos = parent;
+        }
+        heap[pos] = item;
+        position[item] = pos;
+    }
+
+    private void siftDown(int pos) {
+        int item = heap[pos];
+        double k = key[item];
+        int half = size >>> 1;
+        while (pos < half) {
+            int child = 2 * pos + 1;
+            int right = child + 1;
+            if (right < size && key[heap[right]] < key[heap[child]]) {
+                child = right;
+            }
+            if (k <= key[heap[child]]) {
+                break;
+            }
+            heap[pos] = heap[child];
+            position[heap[pos]] = pos;
+            pos = child;
+        }
+        heap[pos] = item;
+        position[item] = pos;
+    }
+}
@@ -0,0 +1,523 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Graph;
+import com.brunomnsilva.smartgraph.graph.Vertex;
+
+import java.io.IOException;
+import java.lang.management.GarbageCollectorMXBean;
+import java.lang.management.ManagementFactory;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Kommandozeilenwerkzeug zum Lasttest der Verfahren aus {@link EngineMode}.
+ * <p>
+ * Die Abfragen stammen entweder aus einem aufgezeichneten Log (eine Abfrage pro Zeile,
+ * {@code Start;Ziel} als Stadtnamen, {@code #} leitet Kommentare ein) oder werden synthetisch
+ * mit Zipf-verteilter Häufigkeit der Knoten erzeugt. Sie werden mit fester Rate und
+ * einstellbarer Parallelität abgespielt. Bei fester Rate wird die Latenz ab dem geplanten
+ * Startzeitpunkt gemessen, damit Rückstau nicht aus den Messwerten verschwindet.
+ * <p>
+ * Je Verfahren werden Latenz-Perzentile, Durchsatz, Garbage-Collection und die während des
+ * Laufs in allen Threads (auch denen der Shards) allokierten Bytes als JSON ausgegeben,
+ * damit sich Builds und Verfahren vergleichen lassen. Schlägt eine Abfrage fehl, wird sie als
+ * Fehler gezählt; die erste Ausnahme je Verfahren wird protokolliert und im Bericht vermerkt.
+ * <pre>
+ * LoadHarness [--graph demo|grid:BxH] [--log DATEI | --synthetic ANZAHL] [--skew S]
+ *             [--rate ABFRAGEN_PRO_S] [--concurrency THREADS] [--warmup ANZAHL]
+ *             [--engines dijkstra,compiled,...] [--seed N] [--report DATEI]
+ * </pre>
+ */
+public class LoadHarness {
+
+    private final Graph<VertaxData, EdgeData> graph;
+    private final List<Vertex<VertaxData>[]> queries;
+    private final double rate;
+    private final int concurrency;
+    private final int warmup;
+
+    /**
+     * @throws IllegalArgumentException bei ungültiger Rate, Parallelität oder Anzahl Aufwärmabfragen
+     */
+    public LoadHarness(Graph<VertaxData, EdgeData> graph, List<Vertex<VertaxData>[]> queries,
+                       double rate, int concurrency, int warmup) {
+        checkSettings(rate, concurrency, warmup);
+        this.graph = graph;
+        this.queries = queries;
+        this.rate = rate;
+        this.concurrency = concurrency;
+        this.warmup = warmup;
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = parseOptions(args);
+        if (options.containsKey("help")) {
+            System.out.println("LoadHarness [--graph demo|grid:BxH] [--log DATEI | --synthetic ANZAHL] [--skew S]"
+                    + " [--rate ABFRAGEN_PRO_S] [--concurrency THREADS] [--warmup ANZAHL]"
+                    + " [--engines dijkstra,compiled,compiled-rcm,overlay,sharded] [--seed N] [--report DATEI]");
+            return;
+        }
+
+        // Vor dem Aufbau des Graphen prüfen, damit Tippfehler sofort auffallen
+        double rate = Double.parseDouble(options.getOrDefault("rate", "0"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "1"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "1000"));
+        checkSettings(rate, concurrency, warmup);
+
+        long seed = Long.parseLong(options.getOrDefault("seed", "1"));
+        Random random = new Random(seed);
+        String graphSpec = options.getOrDefault("graph", "demo");
+        GraphControl graphControl = loadGraph(graphSpec, random);
+        Graph<VertaxData, EdgeData> graph = graphControl.getGraph();
+        VertexNameIndex nameIndex = graphControl.getNameIndex();
+
+        List<Vertex<VertaxData>[]> queries;
+        String workload;
+        double skew = Double.parseDouble(options.getOrDefault("skew", "1.0"));
+        if (options.containsKey("log")) {
+            queries = readQueryLog(Path.of(options.get("log")), nameIndex);
+            workload = "log:" + options.get("log");
+        } else {
+            int count = Integer.parseInt(options.getOrDefault("synthetic", "10000"));
+            queries = syntheticQueries(graph, count, skew, random);
+            workload = "synthetic:zipf(" + skew + ")";
+        }
+
+        List<EngineMode> modes = new ArrayList<>();
+        for (String name : options.getOrDefault("engines", "dijkstra,compiled,compiled-rcm,overlay,sharded").split(",")) {
+            modes.add(EngineMode.fromCliName(name.trim()));
+        }
+
+        LoadHarness harness = new LoadHarness(graph, queries, rate, concurrency, warmup);
+        List<EngineReport> reports = new ArrayList<>();
+        for (EngineMode mode : modes) {
+            System.err.println("Messe " + mode.getCliName() + " ...");
+            reports.add(harness.run(mode));
+        }
+
+        String json = toJson(graphSpec, graph, workload, queries.size(), rate, concurrency, seed, reports);
+        if (options.containsKey("report")) {
+            Files.writeString(Path.of(options.get("report")), json, StandardCharsets.UTF_8);
+        } else {
+            System.out.println(json);
+        }
+    }
+
+    /**
+     * @throws IllegalArgumentException bei negativer oder unendlicher Rate, Parallelität unter 1
+     *                                  oder negativer Anzahl Aufwärmabfragen
+     */
+    static void checkSettings(double rate, int concurrency, int warmup) {
+        if (!(rate >= 0) || Double.isInfinite(rate)) {
+            throw new IllegalArgumentException("--rate muss endlich und mindestens 0 sein: " + rate);
+        }
+        if (concurrency < 1) {
+            throw new IllegalArgumentException("--concurrency muss mindestens 1 sein: " + concurrency);
+        }
+        if (warmup < 0) {
+            throw new IllegalArgumentException("--warmup darf nicht negativ sein: " + warmup);
+        }
+    }
+
+    /**
+     * Liest Optionen der Form {@code --name wert}; {@code --help} ohne Wert.
+     */
+    private static Map<String, String> parseOptions(String[] args) {
+        Map<String, String> options = new HashMap<>();
+        for (int i = 0; i < args.length; i++) {
+            if (!args[i].startsWith("--")) {
+                throw new IllegalArgumentException("Unerwartetes Argument: " + args[i]);
+            }
+            String name = args[i].substring(2);
+            if (name.equals("help")) {
+                options.put(name, "");
+            } else if (i + 1 < args.length) {
+                options.put(name, args[++i]);
+            } else {
+                throw new IllegalArgumentException("Wert fehlt für --" + name);
+            }
+        }
+        return options;
+    }
+
+    private static GraphControl loadGraph(String spec, Random random) {
+        if (spec.equals("demo")) {
+            return new GraphControl();
+        }
+        if (spec.startsWith("grid:")) {
+            String[] size = spec.substring(5).split("x");
+            return new GraphControl(GraphGenerator.shuffledGrid(Integer.parseInt(size[0]),
+                    Integer.parseInt(size[1]), random, null));
+        }
+        throw new IllegalArgumentException("Unbekannter Graph: " + spec);
+    }
+
+    /**
+     * Liest ein Abfrage-Log; Namen werden wie in der Oberfläche ohne Beachtung der
+     * Groß-/Kleinschreibung gesucht. Zeilen mit unbekannten Namen werden übersprungen und gemeldet.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static List<Vertex<VertaxData>[]> readQueryLog(Path file, VertexNameIndex nameIndex) throws IOException {
+        List<Vertex<VertaxData>[]> queries = new ArrayList<>();
+        int lineNumber = 0;
+        for (String line : Files.readAllLines(file, StandardCharsets.UTF_8)) {
+            lineNumber++;
+            line = line.trim();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            String[] parts = line.split(";");
+            Vertex<VertaxData> start = parts.length == 2 ? nameIndex.findFirstIgnoreCase(parts[0].trim()) : null;
+            Vertex<VertaxData> end = parts.length == 2 ? nameIndex.findFirstIgnoreCase(parts[1].trim()) : null;
+            if (start == null || end == null) {
+                System.err.println("Zeile " + lineNumber + " übersprungen: " + line);
+                continue;
+            }
+            queries.add(new Vertex[]{start, end});
+        }
+        return queries;
+    }
+
+    /**
+     * Erzeugt Abfragen, bei denen Start und Ziel Zipf-verteilt gewählt werden: wenige Knoten
+     * sind sehr häufig gefragt, die meisten selten. {@code skew = 0} ergibt eine Gleichverteilung.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    static List<Vertex<VertaxData>[]> syntheticQueries(Graph<VertaxData, EdgeData> graph, int count,
+                                                       double skew, Random random) {
+        List<Vertex<VertaxData>> vertices = new ArrayList<>(graph.vertices());
+        Collections.shuffle(vertices, random);
+        int n = vertices.size();
+
+        // Kumulierte Zipf-Gewichte über die gemischten Knoten
+        double[] cumulative = new double[n];
+        double total = 0;
+        for (int i = 0; i < n; i++) {
+            total += 1.0 / Math.pow(i + 1, skew);
+            cumulative[i] = total;
+        }
+
+        List<Vertex<VertaxData>[]> queries = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            Vertex<VertaxData> start = vertices.get(sample(cumulative, random.nextDouble() * total));
+            Vertex<VertaxData> end = vertices.get(sample(cumulative, random.nextDouble() * total));
+            queries.add(new Vertex[]{start, end});
+        }
+        return queries;
+    }
+
+    private static int sample(double[] cumulative, double value) {
+        int index = Arrays.binarySearch(cumulative, value);
+        index = index >= 0 ? index : -index - 1;
+        return Math.min(index, cumulative.length - 1);
+    }
+
+    /**
+     * Erstellt das Verfahren, wärmt es auf und spielt alle Abfragen ab.
+     */
+    public EngineReport run(EngineMode mode) throws Exception {
+        long buildStart = System.nanoTime();
+        ShortestPathEngine engine = mode.create(graph);
+        double buildMillis = (System.nanoTime() - buildStart) / 1e6;
+
+        try {
+            // Aufwärmen für den JIT-Compiler (nicht gemessen)
+            for (int i = 0; i < warmup && !queries.isEmpty(); i++) {
+                Vertex<VertaxData>[] query = queries.get(i % queries.size());
+                engine.findShortestPath(query[0], query[1]);
+            }
+
+            long gcCountBefore = gcCount();
+            long gcTimeBefore = gcTime();
+            Map<Long, Long> allocatedBefore = allocatedBytesPerThread();
+
+            AtomicInteger next = new AtomicInteger();
+            long intervalNanos = rate > 0 ? (long) (1e9 / rate) : 0;
+            ExecutorService executor = Executors.newFixedThreadPool(concurrency);
+            try {
+                List<Future<WorkerResult>> workers = new ArrayList<>();
+                long start = System.nanoTime();
+                for (int t = 0; t < concurrency; t++) {
+                    workers.add(executor.submit(() -> runWorker(engine, next, start, intervalNanos)));
+                }
+
+                LatencyHistogram histogram = new LatencyHistogram();
+                long errors = 0;
+                long noPath = 0;
+                double checksum = 0;
+                RuntimeException firstError = null;
+                for (Future<WorkerResult> worker : workers) {
+                    WorkerResult result = worker.get();
+                    histogram.add(result.histogram);
+                    errors += result.errors;
+                    noPath += result.noPath;
+                    checksum += result.distanceSum;
+                    if (firstError == null) {
+                        firstError = result.firstError;
+                    }
+                }
+                double seconds = (System.nanoTime() - start) / 1e9;
+
+                // Vor dem Beenden der Threads messen, solange ihre Zähler noch abrufbar sind
+                long allocated = allocatedSince(allocatedBefore);
+
+                if (firstError != null) {
+                    System.err.println(errors + " fehlgeschlagene Abfragen bei " + mode.getCliName()
+                            + ", erste Ausnahme:");
+                    firstError.printStackTrace();
+                }
+                return new EngineReport(mode, buildMillis, histogram, seconds, errors, describe(firstError), noPath,
+                        checksum, gcCount() - gcCountBefore, gcTime() - gcTimeBefore, allocated);
+            } finally {
+                executor.shutdown();
+            }
+        } finally {
+            engine.close();
+        }
+    }
+
+    /**
+     * Arbeitet Abfragen ab, bis alle vergeben sind. Bei fester Rate wartet der Thread
+     * auf den geplanten Startzeitpunkt der jeweiligen Abfrage.
+     */
+    private WorkerResult runWorker(ShortestPathEngine engine, AtomicInteger next, long start, long intervalNanos) {
+        WorkerResult result = new WorkerResult();
+
+        int i;
+        while ((i = next.getAndIncrement()) < queries.size()) {
+            long begin;
+            if (intervalNanos > 0) {
+                begin = start + i * intervalNanos;
+                long wait;
+                while ((wait = begin - System.nanoTime()) > 0) {
+                    LockSupport.parkNanos(wait);
+                }
+            } else {
+                begin = System.nanoTime();
+            }
+
+            Vertex<VertaxData>[] query = queries.get(i);
+            try {
+                DijkstraAlgorithm.DijkstraResult path = engine.findShortestPath(query[0], query[1]);
+                if (path.pathExists()) {
+                    result.distanceSum += path.getTotalDistance();
+                } else {
+                    result.noPath++;
+                }
+            } catch (RuntimeException e) {
+                if (result.firstError == null) {
+                    result.firstError = e;
+                }
+                result.errors++;
+            }
+            result.histogram.record(System.nanoTime() - begin);
+        }
+        return result;
+    }
+
+    /**
+     * @return Klasse und Meldung der Ausnahme für den Bericht, {@code null} ohne Ausnahme
+     */
+    private static String describe(RuntimeException e) {
+        if (e == null) {
+            return null;
+        }
+        return e.getMessage() != null ? e.getClass().getName() + ": " + e.getMessage() : e.getClass().getName();
+    }
+
+    /**
+     * Bisher allokierte Bytes je lebendem Thread. Erfasst auch Threads, die nicht selbst
+     * Abfragen stellen, z.B. die Threads der Shards bei {@link EngineMode#SHARDED}.
+     */
+    private static Map<Long, Long> allocatedBytesPerThread() {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        long[] ids = threads.getAllThreadIds();
+        long[] bytes = threads.getThreadAllocatedBytes(ids);
+        Map<Long, Long> allocated = new HashMap<>();
+        for (int i = 0; i < ids.length; i++) {
+            if (bytes[i] >= 0) {
+                allocated.put(ids[i], bytes[i]);
+            }
+        }
+        return allocated;
+    }
+
+    /**
+     * Summe der seit {@code before} allokierten Bytes über alle lebenden Threads;
+     * neu gestartete Threads zählen vollständig.
+     */
+    private static long allocatedSince(Map<Long, Long> before) {
+        long total = 0;
+        for (Map.Entry<Long, Long> entry : allocatedBytesPerThread().entrySet()) {
+            total += entry.getValue() - before.getOrDefault(entry.getKey(), 0L);
+        }
+        return total;
+    }
+
+    private static long gcCount() {
+        long count = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            count += Math.max(0, gc.getCollectionCount());
+        }
+        return count;
+    }
+
+    private static long gcTime() {
+        long time = 0;
+        for (GarbageCollectorMXBean gc : ManagementFactory.getGarbageCollectorMXBeans()) {
+            time += Math.max(0, gc.getCollectionTime());
+        }
+        return time;
+    }
+
+    /**
+     * Messwerte eines einzelnen Abfrage-Threads.
+     */
+    private static class WorkerResult {
+        final LatencyHistogram histogram = new LatencyHistogram();
+        long errors;
+        long noPath;
+        double distanceSum;
+        RuntimeException firstError;
+    }
+
+    /**
+     * Messergebnis eines Verfahrens.
+     */
+    public static class EngineReport {
+        private final EngineMode mode;
+        private final double buildMillis;
+        private final LatencyHistogram latency;
+        private final double seconds;
+        private final long errors;
+        private final String firstError;
+        private final long noPath;
+        private final double distanceChecksum;
+        private final long gcCollections;
+        private final long gcMillis;
+        private final long allocatedBytes;
+
+        EngineReport(EngineMode mode, double buildMillis, LatencyHistogram latency, double seconds, long errors,
+                     String firstError, long noPath, double distanceChecksum, long gcCollections, long gcMillis,
+                     long allocatedBytes) {
+            this.mode = mode;
+            this.buildMillis = buildMillis;
+            this.latency = latency;
+            this.seconds = seconds;
+            this.errors = errors;
+            this.firstError = firstError;
+            this.noPath = noPath;
+            this.distanceChecksum = distanceChecksum;
+            this.gcCollections = gcCollections;
+            this.gcMillis = gcMillis;
+            this.allocatedBytes = allocatedBytes;
+        }
+
+        public EngineMode getMode() {
+            return mode;
+        }
+
+        public LatencyHistogram getLatency() {
+            return latency;
+        }
+
+        public double getThroughput() {
+            return seconds > 0 ? latency.getTotalCount() / seconds : 0;
+        }
+
+        public long getErrors() {
+            return errors;
+        }
+
+        /**
+         * @return Klasse und Meldung der ersten Ausnahme, {@code null} wenn keine Abfrage fehlschlug
+         */
+        public String getFirstError() {
+            return firstError;
+        }
+
+        /**
+         * Summe aller gefundenen Distanzen; muss bei gleicher Last für alle Verfahren gleich sein.
+         */
+        public double getDistanceChecksum() {
+            return distanceChecksum;
+        }
+
+        private void appendJson(StringBuilder sb) {
+            long count = latency.getTotalCount();
+            sb.append("    {\n");
+            sb.append("      \"mode\": \"").append(mode.getCliName()).append("\",\n");
+            sb.append("      \"buildMillis\": ").append(format(buildMillis)).append(",\n");
+            sb.append("      \"queries\": ").append(count).append(",\n");
+            sb.append("      \"errors\": ").append(errors).append(",\n");
+            sb.append("      \"firstError\": ")
+                    .append(firstError != null ? "\"" + escape(firstError) + "\"" : "null").append(",\n");
+            sb.append("      \"noPath\": ").append(noPath).append(",\n");
+            sb.append("      \"distanceChecksum\": ").append(format(distanceChecksum)).append(",\n");
+            sb.append("      \"durationSeconds\": ").append(format(seconds)).append(",\n");
+            sb.append("      \"throughputPerSecond\": ").append(format(getThroughput())).append(",\n");
+            sb.append("      \"latencyMicros\": {");
+            sb.append("\"min\": ").append(format(latency.getMin() / 1e3));
+            sb.append(", \"mean\": ").append(format(latency.getMean() / 1e3));
+            sb.append(", \"p50\": ").append(format(latency.valueAtPercentile(50) / 1e3));
+            sb.append(", \"p90\": ").append(format(latency.valueAtPercentile(90) / 1e3));
+            sb.append(", \"p99\": ").append(format(latency.valueAtPercentile(99) / 1e3));
+            sb.append(", \"p999\": ").append(format(latency.valueAtPercentile(99.9) / 1e3));
+            sb.append(", \"max\": ").append(format(latency.getMax() / 1e3)).append("},\n");
+            sb.append("      \"gc\": {\"collections\": ").append(gcCollections)
+                    .append(", \"millis\": ").append(gcMillis).append("},\n");
+            sb.append("      \"allocatedBytes\": ").append(allocatedBytes).append(",\n");
+            sb.append("      \"allocatedBytesPerQuery\": ").append(count > 0 ? allocatedBytes / count : 0).append("\n");
+            sb.append("    }");
+        }
+    }
+
+    static String toJson(String graphSpec, Graph<VertaxData, EdgeData> graph, String workload, int queryCount,
+                         double rate, int concurrency, long seed, List<EngineReport> reports) {
+        StringBuilder sb = new StringBuilder();
+        sb.append("{\n");
+        sb.append("  \"graph\": {\"spec\": \"").append(escape(graphSpec)).append("\", \"vertices\": ")
+                .append(graph.numVertices()).append(", \"edges\": ").append(graph.numEdges()).append("},\n");
+        sb.append("  \"workload\": {\"source\": \"").append(escape(workload)).append("\", \"queries\": ")
+                .append(queryCount).append(", \"targetRate\": ").append(format(rate))
+                .append(", \"concurrency\": ").append(concurrency).append(", \"seed\": ").append(seed).append("},\n");
+        sb.append("  \"jvm\": {\"version\": \"").append(escape(System.getProperty("java.version")))
+                .append("\", \"processors\": ").append(Runtime.getRuntime().availableProcessors())
+                .append(", \"maxHeapBytes\": ").append(Runtime.getRuntime().maxMemory()).append("},\n");
+        sb.append("  \"engines\": [\n");
+        for (int i = 0; i < reports.size(); i++) {
+            reports.get(i).appendJson(sb);
+            sb.append(i < reports.size() - 1 ? ",\n" : "\n");
+        }
+        sb.append("  ]\n");
+        sb.append("}\n");
+        return sb.toString();
+    }
+
+    private static String format(double value) {
+        return String.format(Locale.ROOT, "%.3f", value);
+    }
+
+    private static String escape(String text) {
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int i = 0; i < text.length(); i++) {
+            char c = text.charAt(i);
+            if (c == '"' || c == '\\') {
+                sb.append('\\').append(c);
+            } else if (c < 0x20) {
+                // Steuerzeichen, z.B. Zeilenumbrüche in Fehlermeldungen
+                sb.append(String.format("\\u%04x", (int) c));
+            } else {
+                sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
@@ -0,0 +1,47 @@
+package at.htlhl.graphdemo;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Transport, der alle Shards im selben Prozess betreibt. Jeder Shard erhält einen
+ * eigenen Thread und bearbeitet seine Anfragen nacheinander, wie es ein eigener
+ * Routing-Prozess tun würde. So lässt sich der ganze Cluster auf einem Rechner
+ * ausführen und testen.
+ */
+public class LoopbackShardTransport implements ShardTransport {
+
+    private final RoutingShard[] shards;
+    private final ExecutorService[] executors;
+
+    public LoopbackShardTransport(RoutingShard[] shards) {
+        this.shards = shards.clone();
+        this.executors = new ExecutorService[shards.length];
+        for (int i = 0; i < shards.length; i++) {
+            final int shard = i;
+            executors[i] = Executors.newSingleThreadExecutor(runnable -> {
+                Thread thread = new Thread(runnable, "routing-shard-" + shard);
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    @Override
+    public int shardCount() {
+        return shards.length;
+    }
+
+    @Override
+    public CompletableFuture<ShardMessage.Response> send(int shard, ShardMessage.Request request) {
+        return CompletableFuture.supplyAsync(() -> shards[shard].handle(request), executors[shard]);
+    }
+
+    @Override
+    public void close() {
+        for (ExecutorService executor : executors) {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,316 @@
+package at.htlhl.graphdemo;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Mehrstufiger Overlay-Graph für anpassbares Routing (Customizable Route Planning).
+ * <p>
+ * Die Vorverarbeitung besteht aus zwei Teilen:
+ * <ol>
+ *     <li>Metrikunabhängig (einmalig): Zerlegung in Zellen ({@link GraphPartition}) und
+ *     Bestimmung der Randknoten jeder Zelle.</li>
+ *     <li>Anpassung ({@link #customize()}): Für jede Zelle werden die kürzesten Distanzen
+ *     zwischen allen Randknoten innerhalb der Zelle berechnet (Clique). Ebene 1 rechnet auf
+ *     dem Originalgraphen, jede höhere Ebene auf den Cliquen der Ebene darunter.</li>
+ * </ol>
+ * Ein Clique-Bogen wird nur gespeichert, wenn sein kürzester Pfad keinen weiteren Randknoten
+ * der Zelle berührt; sonst ergibt er sich aus zwei kürzeren Clique-Bögen. Auf Gittern entfällt
+ * so ein Großteil der Einträge, was Abfragen und die Anpassung höherer Ebenen beschleunigt.
+ * Ändern sich Kantengewichte (z.B. durch Verkehrsdaten über {@link EdgeData#setDistance(int)}),
+ * genügt ein erneuter Aufruf von {@link #customize()}; die Zerlegung bleibt bestehen.
+ * Abfragen laufen über {@link OverlayDijkstraAlgorithm}. Während der Anpassung dürfen
+ * keine Abfragen laufen.
+ */
+public class MultiLevelOverlay {
+
+    private final CompiledGraph graph;
+    private final GraphPartition partition;
+
+    // Je Ebene (Index level - 1): Randknoten gruppiert nach Zelle
+    private final int[][] boundaryStart;
+    private final int[][] boundaryVertex;
+    // Je Ebene: Position des Knotens in der Randknotenliste seiner Zelle, -1 = kein Randknoten
+    private final int[][] boundaryIndex;
+    // Je Ebene: Clique-Bögen je Zelle in einem Block von k x k Einträgen; Zeile i enthält
+    // die ersten cliqueDegree[boundaryStart + i] Einträge (Zielknoten und Distanz)
+    private final int[][] cliqueStart;
+    private final int[][] cliqueDegree;
+    private final int[][] cliqueTarget;
+    private final double[][] cliqueWeight;
+
+    private final ThreadLocal<SearchSpace> searchSpaces;
+
+    private MultiLevelOverlay(CompiledGraph graph, GraphPartition partition) {
+        this.graph = graph;
+        this.partition = partition;
+
+        int levels = partition.levelCount();
+        int n = graph.vertexCount();
+        boundaryStart = new int[levels][];
+        boundaryVertex = new int[levels][];
+        boundaryIndex = new int[levels][];
+        cliqueStart = new int[levels][];
+        cliqueDegree = new int[levels][];
+        cliqueTarget = new int[levels][];
+        cliqueWeight = new double[levels][];
+        searchSpaces = ThreadLocal.withInitial(() -> new SearchSpace(n));
+
+        for (int level = 1; level <= levels; level++) {
+            collectBoundary(level);
+        }
+    }
+
+    /**
+     * Erstellt den Overlay-Graphen und führt die erste Anpassung aus.
+     * @param graph Der kompilierte Graph
+     * @param partition Zerlegung des kompilierten Graphen
+     */
+    public static MultiLevelOverlay build(CompiledGraph graph, GraphPartition partition) {
+        MultiLevelOverlay overlay = new MultiLevelOverlay(graph, partition);
+        overlay.customize();
+        return overlay;
+    }
+
+    /**
+     * Bestimmt die Randknoten aller Zellen einer Ebene: Knoten mit mindestens
+     * einem Bogen in eine andere Zelle derselben Ebene.
+     */
+    private void collectBoundary(int level) {
+        int n = graph.vertexCount();
+        int cells = partition.cellCount(level);
+        int l = level - 1;
+
+        boolean[] isBoundary = new boolean[n];
+        int[] start = new int[cells + 1];
+        for (int v = 0; v < n; v++) {
+            int cell = partition.cellOf(level, v);
+            for (int a = graph.arcsBegin(v); a < graph.arcsEnd(v); a++) {
+                if (partition.cellOf(level, graph.arcTarget(a)) != cell) {
+                    isBoundary[v] = true;
+                    start[cell + 1]++;
+                    break;
+                }
+            }
+        }
+        for (int c = 0; c < cells; c++) {
+            start[c + 1] += start[c];
+        }
+
+        int[] vertices = new int[start[cells]];
+        int[] index = new int[n];
+        int[] fill = new int[cells];
+        for (int v = 0; v < n; v++) {
+            if (isBoundary[v]) {
+                int cell = partition.cellOf(level, v);
+                index[v] = fill[cell];
+                vertices[start[cell] + fill[cell]++] = v;
+            } else {
+                index[v] = -1;
+            }
+        }
+
+        int[] clique = new int[cells + 1];
+        for (int c = 0; c < cells; c++) {
+            int k = start[c + 1] - start[c];
+            clique[c + 1] = Math.addExact(clique[c], Math.multiplyExact(k, k));
+        }
+
+        boundaryStart[l] = start;
+        boundaryVertex[l] = vertices;
+        boundaryIndex[l] = index;
+        cliqueStart[l] = clique;
+        cliqueDegree[l] = new int[vertices.length];
+        cliqueTarget[l] = new int[clique[cells]];
+        cliqueWeight[l] = new double[clique[cells]];
+    }
+
+    /**
+     * Übernimmt die aktuellen Kantengewichte und berechnet alle Cliquen neu,
+     * Ebene für Ebene von unten nach oben. Die Zellen einer Ebene sind voneinander
+     * unabhängig und werden parallel bearbeitet.
+     */
+    public void customize() {
+        graph.updateWeights();
+        for (int level = 1; level <= partition.levelCount(); level++) {
+            final int current = level;
+            IntStream.range(0, partition.cellCount(level)).parallel()
+                    .forEach(cell -> customizeCell(current, cell));
+        }
+    }
+
+    /**
+     * Berechnet die Clique einer Zelle: eine Dijkstra-Suche je Randknoten,
+     * beschränkt auf die Zelle und auf den Overlay der Ebene darunter.
+     * Übernommen werden nur erreichbare Randknoten, deren Pfad nicht über einen
+     * weiteren Randknoten führt (siehe {@link #passesBoundary}).
+     */
+    private void customizeCell(int level, int cell) {
+        int l = level - 1;
+        int from = boundaryStart[l][cell];
+        int k = boundaryStart[l][cell + 1] - from;
+        int base = cliqueStart[l][cell];
+        SearchSpace space = searchSpaces.get();
+
+        for (int i = 0; i < k; i++) {
+            int source = boundaryVertex[l][from + i];
+            space.start(source);
+            int found = 0;
+            while (!space.queue.isEmpty() && found < k) {
+                int u = space.settleNext();
+                if (boundaryIndex[l][u] >= 0) {
+                    found++;
+                }
+                relaxOverlay(level - 1, u, space, level, cell);
+            }
+
+            int row = base + i * k;
+            int degree = 0;
+            for (int j = 0; j < k; j++) {
+                int target = boundaryVertex[l][from + j];
+                if (j != i && space.distance[target] != Double.POSITIVE_INFINITY
+                        && !passesBoundary(l, source, target, space)) {
+                    cliqueTarget[l][row + degree] = target;
+                    cliqueWeight[l][row + degree] = space.distance[target];
+                    degree++;
+                }
+            }
+            cliqueDegree[l][from + i] = degree;
+        }
+        space.reset();
+    }
+
+    /**
+     * Prüft, ob der gefundene Pfad zu {@code target} über einen weiteren Randknoten m führt,
+     * der echt zwischen Start und Ziel liegt ({@code 0 < d(m) < d(target)}). Dann ist
+     * d(source, target) = d(source, m) + d(m, target) mit zwei kürzeren Distanzen, und der
+     * Clique-Bogen ist überflüssig. Die strikte Bedingung verhindert, dass sich bei
+     * Gewicht 0 zwei Bögen gegenseitig ersetzen.
+     */
+    private boolean passesBoundary(int l, int source, int target, SearchSpace space) {
+        double total = space.distance[target];
+        for (int v = space.predecessor[target]; v != source; v = space.predecessor[v]) {
+            double d = space.distance[v];
+            if (boundaryIndex[l][v] >= 0 && d > 0 && d < total) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Relaxiert alle Bögen eines Knotens im Overlay der angegebenen Ebene.
+     * Auf Ebene 0 sind das die Originalbögen; auf höheren Ebenen die Clique der Zelle
+     * des Knotens sowie alle Originalbögen, die diese Zelle verlassen.
+     * Clique-Bögen werden im Vorgänger-Bogen als {@code -1 - overlayLevel} kodiert.
+     * @param overlayLevel Ebene des Overlays, in dem gesucht wird
+     * @param u Knoten, dessen Bögen relaxiert werden; muss auf dieser Ebene ein Randknoten sein
+     * @param space Arbeitsspeicher der Suche
+     * @param restrictLevel Ebene der Zelle, auf die die Suche beschränkt ist (0 = keine Beschränkung)
+     * @param restrictCell Zelle, auf die die Suche beschränkt ist
+     */
+    void relaxOverlay(int overlayLevel, int u, SearchSpace space, int restrictLevel, int restrictCell) {
+        double du = space.distance[u];
+
+        if (overlayLevel == 0) {
+            for (int a = graph.arcsBegin(u), end = graph.arcsEnd(u); a < end; a++) {
+                int w = graph.arcTarget(a);
+                if (restrictLevel == 0 || partition.cellOf(restrictLevel, w) == restrictCell) {
+                    space.relax(w, du + graph.arcWeight(a), u, a);
+                }
+            }
+            return;
+        }
+
+        int l = overlayLevel - 1;
+        int cell = partition.cellOf(overlayLevel, u);
+
+        // Clique-Bögen innerhalb der Zelle
+        int from = boundaryStart[l][cell];
+        int k = boundaryStart[l][cell + 1] - from;
+        int index = boundaryIndex[l][u];
+        int row = cliqueStart[l][cell] + index * k;
+        for (int c = row, end = row + cliqueDegree[l][from + index]; c < end; c++) {
+            space.relax(cliqueTarget[l][c], du + cliqueWeight[l][c], u, -1 - overlayLevel);
+        }
+
+        // Originalbögen, die die Zelle verlassen
+        for (int a = graph.arcsBegin(u), end = graph.arcsEnd(u); a < end; a++) {
+            int w = graph.arcTarget(a);
+            if (partition.cellOf(overlayLevel, w) != cell
+                    && (restrictLevel == 0 || partition.cellOf(restrictLevel, w) == restrictCell)) {
+                space.relax(w, du + graph.arcWeight(a), u, a);
+            }
+        }
+    }
+
+    /**
+     * Entpackt einen Clique-Bogen rekursiv in Originalbögen. Dazu wird die Suche aus
+     * der Anpassung innerhalb der Zelle wiederholt und deren Clique-Bögen ihrerseits entpackt.
+     * @param level Ebene des Clique-Bogens
+     * @param from Randknoten, an dem der Bogen beginnt
+     * @param to Randknoten, an dem der Bogen endet
+     * @param arcs Liste, an die die Originalbögen in Laufrichtung angehängt werden
+     */
+    void unpackShortcut(int level, int from, int to, List<Integer> arcs) {
+        SearchSpace space = searchSpaces.get();
+        int cell = partition.cellOf(level, from);
+
+        space.start(from);
+        while (!space.queue.isEmpty()) {
+            int u = space.settleNext();
+            if (u == to) {
+                break;
+            }
+            relaxOverlay(level - 1, u, space, level, cell);
+        }
+
+        // Schritte sichern, bevor der Arbeitsspeicher für die Rekursion wiederverwendet wird
+        int hops = 0;
+        for (int v = to; v != from; v = space.predecessor[v]) {
+            hops++;
+        }
+        int[] hopVertex = new int[hops + 1];
+        int[] hopArc = new int[hops];
+        hopVertex[hops] = to;
+        for (int v = to, i = hops - 1; v != from; v = space.predecessor[v], i--) {
+            hopArc[i] = space.predecessorArc[v];
+            hopVertex[i] = space.predecessor[v];
+        }
+        space.reset();
+
+        for (int i = 0; i < hops; i++) {
+            if (hopArc[i] >= 0) {
+                arcs.add(hopArc[i]);
+            } else {
+                unpackShortcut(-1 - hopArc[i], hopVertex[i], hopVertex[i + 1], arcs);
+            }
+        }
+    }
+
+    public CompiledGraph getCompiledGraph() {
+        return graph;
+    }
+
+    public GraphPartition getPartition() {
+        return partition;
+    }
+
+    /**
+     * @return Anzahl der Randknoten aller Zellen einer Ebene
+     */
+    public int boundaryVertexCount(int level) {
+        return boundaryVertex[level - 1].length;
+    }
+
+    /**
+     * @return Anzahl der gespeicherten Clique-Bögen einer Ebene nach der letzten Anpassung
+     */
+    public int cliqueArcCount(int level) {
+        int count = 0;
+        for (int degree : cliqueDegree[level - 1]) {
+            count += degree;
+        }
+        return count;
+    }
+}
@@ -0,0 +1,202 @@
+package at.htlhl.graphdemo;
+
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Kompaktes Wörterbuch für Knotennamen.
+ * Jeder Name wird nur einmal als UTF-8 in einem gemeinsamen Byte-Array gespeichert und
+ * über eine fortlaufende int-ID angesprochen. Ein sortierter Index ermöglicht exakte Suche
+ * und Präfixsuche in O(log n); verglichen wird dabei direkt auf den Bytes, indem beim
+ * Dekodieren jedes Zeichen kleingeschrieben wird. Eine zweite, kleingeschriebene Kopie
+ * der Namen ist dafür nicht nötig.
+ */
+public class NameDictionary {
+
+    // Namen: Bytes von ID i liegen in [offsets[i], offsets[i + 1])
+    private final byte[] bytes;
+    private final int[] offsets;
+
+    // IDs sortiert nach kleingeschriebenem Namen, bei Gleichheit nach ID
+    private final int[] sorted;
+
+    private NameDictionary(byte[] bytes, int[] offsets, int[] sorted) {
+        this.bytes = bytes;
+        this.offsets = offsets;
+        this.sorted = sorted;
+    }
+
+    /**
+     * Sammelt Namen und vergibt für jeden unterschiedlichen Namen eine ID.
+     */
+    public static class Builder {
+        private final Map<String, Integer> ids = new HashMap<>();
+        private final List<String> names = new ArrayList<>();
+
+        /**
+         * @return ID des Namens; bei wiederholtem Namen dieselbe ID wie zuvor
+         */
+        public int add(String name) {
+            Integer id = ids.get(name);
+            if (id == null) {
+                id = names.size();
+                ids.put(name, id);
+                names.add(name);
+            }
+            return id;
+        }
+
+        public NameDictionary build() {
+            int n = names.size();
+            byte[][] encoded = new byte[n][];
+            int[] offsets = new int[n + 1];
+            for (int i = 0; i < n; i++) {
+                encoded[i] = names.get(i).getBytes(StandardCharsets.UTF_8);
+                offsets[i + 1] = offsets[i] + encoded[i].length;
+            }
+            byte[] bytes = new byte[offsets[n]];
+            for (int i = 0; i < n; i++) {
+                System.arraycopy(encoded[i], 0, bytes, offsets[i], encoded[i].length);
+            }
+
+            // Die gefalteten Schlüssel werden nur zum Sortieren gebraucht
+            int[][] folded = new int[n][];
+            Integer[] order = new Integer[n];
+            for (int i = 0; i < n; i++) {
+                folded[i] = fold(names.get(i));
+                order[i] = i;
+            }
+            Arrays.sort(order, (a, b) -> {
+                int c = Arrays.compare(folded[a], folded[b]);
+                return c != 0 ? c : Integer.compare(a, b);
+            });
+            int[] sorted = new int[n];
+            for (int i = 0; i < n; i++) {
+                sorted[i] = order[i];
+            }
+
+            return new NameDictionary(bytes, offsets, sorted);
+        }
+    }
+
+    /**
+     * Kleingeschriebene Codepoints des Namens; dieselbe Faltung wie beim Vergleich auf den Bytes.
+     */
+    private static int[] fold(String name) {
+        return name.codePoints().map(Character::toLowerCase).toArray();
+    }
+
+    /**
+     * @return Anzahl der unterschiedlichen Namen
+     */
+    public int size() {
+        return sorted.length;
+    }
+
+    /**
+     * Dekodiert den Namen mit der angegebenen ID.
+     */
+    public String name(int id) {
+        return new String(bytes, offsets[id], offsets[id + 1] - offsets[id], StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Exakte Suche (Groß-/Kleinschreibung wird beachtet).
+     * @return ID des Namens oder -1
+     */
+    public int find(String name) {
+        int[] key = fold(name);
+        byte[] exact = name.getBytes(StandardCharsets.UTF_8);
+
+        for (int i = lowerBound(key); i < sorted.length && compareKey(sorted[i], key, false) == 0; i++) {
+            int id = sorted[i];
+            if (Arrays.equals(bytes, offsets[id], offsets[id + 1], exact, 0, exact.length)) {
+                return id;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Suche ohne Beachtung der Groß-/Kleinschreibung.
+     * @return ID des ersten passenden Namens in alphabetischer Reihenfolge oder -1
+     */
+    public int findIgnoreCase(String name) {
+        int[] key = fold(name);
+        int i = lowerBound(key);
+        return i < sorted.length && compareKey(sorted[i], key, false) == 0 ? sorted[i] : -1;
+    }
+
+    /**
+     * Präfixsuche ohne Beachtung der Groß-/Kleinschreibung.
+     * @param prefix Anfang des Namens
+     * @param limit Maximale Anzahl an Treffern
+     * @return IDs der Treffer in alphabetischer Reihenfolge
+     */
+    public int[] findByPrefix(String prefix, int limit) {
+        int[] key = fold(prefix);
+        int from = lowerBound(key);
+        int to = from;
+        while (to < sorted.length && to - from < limit && compareKey(sorted[to], key, true) == 0) {
+            to++;
+        }
+        return Arrays.copyOfRange(sorted, from, to);
+    }
+
+    /**
+     * Erste Position im sortierten Index, deren Schlüssel nicht kleiner als {@code key} ist.
+     */
+    private int lowerBound(int[] key) {
+        int low = 0;
+        int high = sorted.length;
+        while (low < high) {
+            int mid = (low + high) >>> 1;
+            if (compareKey(sorted[mid], key, false) < 0) {
+                low = mid + 1;
+            } else {
+                high = mid;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Vergleicht den kleingeschriebenen Namen einer ID mit {@code key}, Codepoint für Codepoint.
+     * Der Name wird dabei direkt aus den UTF-8-Bytes dekodiert.
+     * @param prefixOnly wenn true, gilt ein Name, der mit {@code key} beginnt, als gleich
+     */
+    private int compareKey(int id, int[] key, boolean prefixOnly) {
+        int pos = offsets[id];
+        int end = offsets[id + 1];
+        int k = 0;
+        while (pos < end && k < key.length) {
+            int b = bytes[pos++];
+            int codePoint;
+            if (b >= 0) {
+                codePoint = b;
+            } else if ((b & 0xE0) == 0xC0) {
+                codePoint = (b & 0x1F) << 6 | (bytes[pos++] & 0x3F);
+            } else if ((b & 0xF0) == 0xE0) {
+                codePoint = (b & 0x0F) << 12 | (bytes[pos++] & 0x3F) << 6 | (bytes[pos++] & 0x3F);
+            } else {
+                codePoint = (b & 0x07) << 18 | (bytes[pos++] & 0x3F) << 12
+                        | (bytes[pos++] & 0x3F) << 6 | (bytes[pos++] & 0x3F);
+            }
+            int c = Integer.compare(Character.toLowerCase(codePoint), key[k++]);
+            if (c != 0) {
+                return c;
+            }
+        }
+        if (k == key.length) {
+            return prefixOnly || pos == end ? 0 : 1;
+        }
+        return -1;
+    }
+
+    /**
+     * @return Ungefährer Speicherbedarf der Arrays in Byte
+     */
+    public long memoryBytes() {
+        return bytes.length + 4L * (offsets.length + sorted.length);
+    }
+}
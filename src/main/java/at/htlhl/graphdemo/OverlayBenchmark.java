@@ -0,0 +1,112 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Graph;
+import com.brunomnsilva.smartgraph.graph.Vertex;
+
+import java.util.*;
+
+/**
+ * Benchmark für den {@link MultiLevelOverlay}.
+ * Erzeugt ein Gitter mit zufälliger Einfügereihenfolge und vergleicht {@link OverlayDijkstraAlgorithm}
+ * mit {@link CompiledDijkstraAlgorithm} auf demselben, mit Reverse Cuthill-McKee nummerierten Graphen:
+ * <ul>
+ *     <li>Zerlegung je Ebene (Zellen, kleinste/größte Zelle, Randknoten, gespeicherte Clique-Bögen),</li>
+ *     <li>Dauer einer Anpassung ({@link MultiLevelOverlay#customize()}) nach geänderten Gewichten,</li>
+ *     <li>Laufzeit je Abfrage beider Verfahren (jeweils bester von drei Durchläufen).</li>
+ * </ul>
+ * Ohne Angabe werden die Zellgrößen von {@link EngineMode#OVERLAY} verwendet.
+ * <p>
+ * Aufruf: {@code OverlayBenchmark [breite] [höhe] [abfragen] [zellgröße ...]}
+ */
+public class OverlayBenchmark {
+
+    private static final int TIMING_ROUNDS = 3;
+
+    public static void main(String[] args) {
+        int width = args.length > 0 ? Integer.parseInt(args[0]) : 200;
+        int height = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        int queries = args.length > 2 ? Integer.parseInt(args[2]) : 200;
+        int[] cellSizes = EngineMode.OVERLAY_CELL_SIZES;
+        if (args.length > 3) {
+            cellSizes = new int[args.length - 3];
+            for (int i = 3; i < args.length; i++) {
+                cellSizes[i - 3] = Integer.parseInt(args[i]);
+            }
+        }
+
+        Random random = new Random(42);
+        Graph<VertaxData, EdgeData> graph = GraphGenerator.shuffledGrid(width, height, random, null);
+        List<Vertex<VertaxData>> vertices = new ArrayList<>(graph.vertices());
+        int[][] pairs = new int[queries][2];
+        for (int i = 0; i < queries; i++) {
+            pairs[i][0] = random.nextInt(vertices.size());
+            pairs[i][1] = random.nextInt(vertices.size());
+        }
+
+        System.out.printf("Gitter %d x %d (%d Knoten, %d Kanten), %d Abfragen, Zellgrößen %s%n",
+                width, height, graph.numVertices(), graph.numEdges(), queries, Arrays.toString(cellSizes));
+
+        CompiledGraph compiled = CompiledGraph.compile(graph, VertexOrdering.REVERSE_CUTHILL_MCKEE);
+        long partitionStart = System.nanoTime();
+        GraphPartition partition = GraphPartition.create(compiled, cellSizes);
+        double partitionMillis = (System.nanoTime() - partitionStart) / 1e6;
+        MultiLevelOverlay overlay = MultiLevelOverlay.build(compiled, partition);
+
+        System.out.printf("%-6s %8s %10s %10s %12s %12s%n",
+                "Ebene", "Zellen", "kleinste", "größte", "Randknoten", "Clique-Bögen");
+        for (int level = 1; level <= partition.levelCount(); level++) {
+            int[] size = new int[partition.cellCount(level)];
+            for (int v = 0; v < compiled.vertexCount(); v++) {
+                size[partition.cellOf(level, v)]++;
+            }
+            IntSummaryStatistics stats = Arrays.stream(size).summaryStatistics();
+            System.out.printf("%-6d %8d %10d %10d %12d %12d%n", level, size.length, stats.getMin(),
+                    stats.getMax(), overlay.boundaryVertexCount(level), overlay.cliqueArcCount(level));
+        }
+
+        // Anpassung nach geänderten Gewichten, wie bei neuen Verkehrsdaten
+        long bestCustomize = Long.MAX_VALUE;
+        for (int round = 0; round < TIMING_ROUNDS; round++) {
+            for (var edge : graph.edges()) {
+                edge.element().setDistance(1 + random.nextInt(100));
+            }
+            long start = System.nanoTime();
+            overlay.customize();
+            bestCustomize = Math.min(bestCustomize, System.nanoTime() - start);
+        }
+        System.out.printf("Zerlegung: %.1f ms, Anpassung: %.1f ms%n", partitionMillis, bestCustomize / 1e6);
+
+        CompiledDijkstraAlgorithm reference = new CompiledDijkstraAlgorithm(compiled);
+        OverlayDijkstraAlgorithm engine = new OverlayDijkstraAlgorithm(overlay);
+        for (int[] pair : pairs) {
+            double expected = reference.findShortestPath(vertices.get(pair[0]), vertices.get(pair[1])).getTotalDistance();
+            double actual = engine.findShortestPath(vertices.get(pair[0]), vertices.get(pair[1])).getTotalDistance();
+            if (expected != actual) {
+                throw new IllegalStateException("Overlay liefert " + actual + " statt " + expected);
+            }
+        }
+        double compiledMicros = timeQueries(reference, vertices, pairs);
+        double overlayMicros = timeQueries(engine, vertices, pairs);
+        System.out.printf("compiled-rcm: %.1f µs/Abfrage, overlay: %.1f µs/Abfrage (Faktor %.1f)%n",
+                compiledMicros, overlayMicros, compiledMicros / overlayMicros);
+    }
+
+    /**
+     * @return Beste durchschnittliche Laufzeit je Abfrage in Mikrosekunden
+     */
+    private static double timeQueries(ShortestPathEngine engine, List<Vertex<VertaxData>> vertices, int[][] pairs) {
+        // Aufwärmen für den JIT-Compiler
+        for (int[] pair : pairs) {
+            engine.findShortestPath(vertices.get(pair[0]), vertices.get(pair[1]));
+        }
+        long best = Long.MAX_VALUE;
+        for (int round = 0; round < TIMING_ROUNDS; round++) {
+            long start = System.nanoTime();
+            for (int[] pair : pairs) {
+                engine.findShortestPath(vertices.get(pair[0]), vertices.get(pair[1]));
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        return best / 1000.0 / pairs.length;
+    }
+}
@@ -0,0 +1,106 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Vertex;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Dijkstra-Suche über den {@link MultiLevelOverlay}.
+ * In der Nähe von Start und Ziel wird auf dem Originalgraphen gesucht; weiter entfernt
+ * springt die Suche über die Cliquen möglichst hoher Ebenen. Der gefundene Pfad wird
+ * anschließend in Originalkanten entpackt, sodass das Ergebnis dem von
+ * {@link DijkstraAlgorithm} entspricht.
+ */
+public class OverlayDijkstraAlgorithm implements ShortestPathEngine {
+
+    private final MultiLevelOverlay overlay;
+    private final ThreadLocal<SearchSpace> searchSpaces;
+
+    /**
+     * Konstruktor für die Overlay-Suche.
+     * @param overlay Der angepasste Overlay-Graph
+     */
+    public OverlayDijkstraAlgorithm(MultiLevelOverlay overlay) {
+        this.overlay = overlay;
+        int n = overlay.getCompiledGraph().vertexCount();
+        this.searchSpaces = ThreadLocal.withInitial(() -> new SearchSpace(n));
+    }
+
+    public MultiLevelOverlay getOverlay() {
+        return overlay;
+    }
+
+    @Override
+    public DijkstraAlgorithm.DijkstraResult findShortestPath(Vertex<VertaxData> startVertex, Vertex<VertaxData> endVertex) {
+        // Validierung
+        if (startVertex == null || endVertex == null) {
+            return new DijkstraAlgorithm.DijkstraResult(null, Double.POSITIVE_INFINITY, null);
+        }
+
+        CompiledGraph graph = overlay.getCompiledGraph();
+        int source = graph.indexOf(startVertex);
+        int target = graph.indexOf(endVertex);
+        if (source < 0 || target < 0) {
+            return new DijkstraAlgorithm.DijkstraResult(null, Double.POSITIVE_INFINITY, null);
+        }
+
+        SearchSpace space = searchSpaces.get();
+        space.start(source);
+        while (!space.queue.isEmpty()) {
+            int u = space.settleNext();
+            if (u == target) {
+                break;
+            }
+            overlay.relaxOverlay(queryLevel(u, source, target), u, space, 0, -1);
+        }
+
+        double distance = space.distance[target];
+        if (distance == Double.POSITIVE_INFINITY) {
+            space.reset();
+            return new DijkstraAlgorithm.DijkstraResult(null, Double.POSITIVE_INFINITY, null);
+        }
+
+        // Schritte des Overlay-Pfades sichern (vom Ziel rückwärts)
+        List<Integer> hopVertices = new ArrayList<>();
+        List<Integer> hopArcs = new ArrayList<>();
+        for (int v = target; v != source; v = space.predecessor[v]) {
+            hopVertices.add(v);
+            hopArcs.add(space.predecessorArc[v]);
+        }
+        hopVertices.add(source);
+        space.reset();
+
+        // Clique-Bögen in Originalbögen entpacken
+        List<Integer> arcs = new ArrayList<>();
+        for (int i = hopArcs.size() - 1; i >= 0; i--) {
+            int arc = hopArcs.get(i);
+            if (arc >= 0) {
+                arcs.add(arc);
+            } else {
+                overlay.unpackShortcut(-1 - arc, hopVertices.get(i + 1), hopVertices.get(i), arcs);
+            }
+        }
+
+        int[] path = new int[arcs.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = arcs.get(i);
+        }
+        return graph.toResult(source, path, distance);
+    }
+
+    /**
+     * Höchste Ebene, auf der der Knoten weder in der Zelle des Starts noch in der des Ziels liegt.
+     * Da die Zellen verschachtelt sind, genügt die Suche von oben nach unten.
+     */
+    private int queryLevel(int vertex, int source, int target) {
+        GraphPartition partition = overlay.getPartition();
+        for (int level = partition.levelCount(); level >= 1; level--) {
+            int cell = partition.cellOf(level, vertex);
+            if (cell != partition.cellOf(level, source) && cell != partition.cellOf(level, target)) {
+                return level;
+            }
+        }
+        return 0;
+    }
+}
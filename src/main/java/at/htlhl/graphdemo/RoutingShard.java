@@ -0,0 +1,341 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Edge;
+
+import java.util.Arrays;
+
+/**
+ * Ein Teil (Shard) des Graphen, wie ihn ein einzelner Routing-Prozess hält.
+ * Der Shard kennt nur seine eigenen Knoten, die Kanten zwischen ihnen und die Kanten,
+ * die zu anderen Shards hinausführen; deren Endpunkte im eigenen Shard sind die Randknoten.
+ * Aufgebaut wird er über den {@link Builder} aus genau diesem Ausschnitt des Graphen.
+ * <p>
+ * Nach außen verwendet der Shard ausschließlich globale Knoten- und Kanten-IDs
+ * (siehe {@link ShardDirectory}).
+ */
+public class RoutingShard {
+
+    private final int shardId;
+
+    // Lokaler Index -> globale Knoten-ID (aufsteigend sortiert)
+    private final int[] globalVertex;
+
+    // Adjazenz der internen Kanten im CSR-Format (lokale Indizes), je Bogen die globale Kanten-ID
+    private final int[] firstArc;
+    private final int[] arcTarget;
+    private final int[] arcWeight;
+    private final int[] arcEdge;
+
+    // Randknoten (lokale Indizes) und ihre Position in der Randknotentabelle
+    private final int[] boundary;
+    private final int[] boundaryIndex;
+    private double[] boundaryTable;
+
+    // Kanten zu anderen Shards: je Kante Randknoten (global), Knoten im anderen Shard, Gewicht, Kanten-ID
+    private final int[] cutEdges;
+
+    private final ThreadLocal<SearchSpace> searchSpaces;
+
+    private RoutingShard(int shardId, int[] globalVertex, int[] firstArc, int[] arcTarget, int[] arcWeight,
+                         int[] arcEdge, int[] boundary, int[] boundaryIndex, int[] cutEdges) {
+        this.shardId = shardId;
+        this.globalVertex = globalVertex;
+        this.firstArc = firstArc;
+        this.arcTarget = arcTarget;
+        this.arcWeight = arcWeight;
+        this.arcEdge = arcEdge;
+        this.boundary = boundary;
+        this.boundaryIndex = boundaryIndex;
+        this.cutEdges = cutEdges;
+        this.searchSpaces = ThreadLocal.withInitial(() -> new SearchSpace(globalVertex.length));
+    }
+
+    /**
+     * Sammelt den Ausschnitt des Graphen, der zu einem Shard gehört: die eigenen Knoten und
+     * alle Kanten mit mindestens einem eigenen Endpunkt. Ein Routing-Prozess kann so seinen
+     * Teil einlesen, ohne den restlichen Graphen zu kennen.
+     */
+    public static class Builder {
+        private final int shardId;
+        private int[] vertices = new int[16];
+        private int vertexCount;
+        // Je Kante vier Werte: Kanten-ID, Endpunkt, Endpunkt, Gewicht
+        private int[] edges = new int[64];
+        private int edgeCount;
+
+        public Builder(int shardId) {
+            this.shardId = shardId;
+        }
+
+        /**
+         * Fügt einen eigenen Knoten hinzu.
+         */
+        public Builder addVertex(int vertex) {
+            if (vertexCount == vertices.length) {
+                vertices = Arrays.copyOf(vertices, vertexCount * 2);
+            }
+            vertices[vertexCount++] = vertex;
+            return this;
+        }
+
+        /**
+         * Fügt eine Kante hinzu; mindestens ein Endpunkt muss zu diesem Shard gehören.
+         * @param edge Globale Kanten-ID
+         */
+        public Builder addEdge(int edge, int u, int v, int weight) {
+            if (edgeCount * 4 == edges.length) {
+                edges = Arrays.copyOf(edges, edges.length * 2);
+            }
+            edges[edgeCount * 4] = edge;
+            edges[edgeCount * 4 + 1] = u;
+            edges[edgeCount * 4 + 2] = v;
+            edges[edgeCount * 4 + 3] = weight;
+            edgeCount++;
+            return this;
+        }
+
+        /**
+         * @throws IllegalArgumentException wenn eine Kante keinen Endpunkt in diesem Shard hat
+         */
+        public RoutingShard build() {
+            int[] globalVertex = Arrays.copyOf(vertices, vertexCount);
+            Arrays.sort(globalVertex);
+            int k = globalVertex.length;
+
+            // Kanten einordnen: intern (zwei Bögen) oder zu einem anderen Shard
+            int[] firstArc = new int[k + 1];
+            boolean[] isBoundary = new boolean[k];
+            int cutCount = 0;
+            for (int e = 0; e < edgeCount; e++) {
+                int u = Arrays.binarySearch(globalVertex, edges[e * 4 + 1]);
+                int v = Arrays.binarySearch(globalVertex, edges[e * 4 + 2]);
+                if (u < 0 && v < 0) {
+                    throw new IllegalArgumentException("Kante " + edges[e * 4]
+                            + " hat keinen Endpunkt in Shard " + shardId);
+                }
+                if (u >= 0 && v >= 0) {
+                    if (u != v) {
+                        firstArc[u + 1]++;
+                        firstArc[v + 1]++;
+                    }
+                } else {
+                    isBoundary[u >= 0 ? u : v] = true;
+                    cutCount++;
+                }
+            }
+            for (int i = 0; i < k; i++) {
+                firstArc[i + 1] += firstArc[i];
+            }
+
+            int[] arcTarget = new int[firstArc[k]];
+            int[] arcWeight = new int[firstArc[k]];
+            int[] arcEdge = new int[firstArc[k]];
+            int[] fill = Arrays.copyOf(firstArc, k);
+            int[] cutEdges = new int[cutCount * 4];
+            int nextCut = 0;
+            for (int e = 0; e < edgeCount; e++) {
+                int id = edges[e * 4];
+                int weight = edges[e * 4 + 3];
+                int u = Arrays.binarySearch(globalVertex, edges[e * 4 + 1]);
+                int v = Arrays.binarySearch(globalVertex, edges[e * 4 + 2]);
+                if (u >= 0 && v >= 0) {
+                    if (u != v) {
+                        arcTarget[fill[u]] = v;
+                        arcWeight[fill[u]] = weight;
+                        arcEdge[fill[u]++] = id;
+                        arcTarget[fill[v]] = u;
+                        arcWeight[fill[v]] = weight;
+                        arcEdge[fill[v]++] = id;
+                    }
+                } else {
+                    cutEdges[nextCut++] = u >= 0 ? edges[e * 4 + 1] : edges[e * 4 + 2];
+                    cutEdges[nextCut++] = u >= 0 ? edges[e * 4 + 2] : edges[e * 4 + 1];
+                    cutEdges[nextCut++] = weight;
+                    cutEdges[nextCut++] = id;
+                }
+            }
+
+            int boundaryCount = 0;
+            for (boolean b : isBoundary) {
+                if (b) {
+                    boundaryCount++;
+                }
+            }
+            int[] boundary = new int[boundaryCount];
+            int[] boundaryIndex = new int[k];
+            int next = 0;
+            for (int local = 0; local < k; local++) {
+                if (isBoundary[local]) {
+                    boundaryIndex[local] = next;
+                    boundary[next++] = local;
+                } else {
+                    boundaryIndex[local] = -1;
+                }
+            }
+
+            return new RoutingShard(shardId, globalVertex, firstArc, arcTarget, arcWeight, arcEdge,
+                    boundary, boundaryIndex, cutEdges);
+        }
+    }
+
+    /**
+     * Zerlegt einen Graphen, der vollständig im Speicher liegt, in Shards, z.B. für
+     * {@link LoopbackShardTransport}. Jeder Shard erhält über seinen {@link Builder}
+     * nur den eigenen Ausschnitt.
+     * @param directory Knoten- und Kanten-IDs
+     * @param shardOf Shard jeder Knoten-ID (z.B. aus {@link ShardCoordinator#assignShards})
+     * @param shardCount Anzahl der Shards
+     * @throws IllegalArgumentException wenn {@code shardCount} nicht positiv ist
+     */
+    public static RoutingShard[] createShards(ShardDirectory directory, int[] shardOf, int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Anzahl der Shards muss positiv sein: " + shardCount);
+        }
+        Builder[] builders = new Builder[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            builders[shard] = new Builder(shard);
+        }
+        for (int v = 0; v < directory.vertexCount(); v++) {
+            builders[shardOf[v]].addVertex(v);
+        }
+        for (int e = 0; e < directory.edgeCount(); e++) {
+            Edge<EdgeData, VertaxData> edge = directory.edge(e);
+            int u = directory.vertexId(edge.vertices()[0]);
+            int v = directory.vertexId(edge.vertices()[1]);
+            int weight = edge.element().getDistance();
+            builders[shardOf[u]].addEdge(e, u, v, weight);
+            if (shardOf[v] != shardOf[u]) {
+                builders[shardOf[v]].addEdge(e, u, v, weight);
+            }
+        }
+
+        RoutingShard[] shards = new RoutingShard[shardCount];
+        for (int shard = 0; shard < shardCount; shard++) {
+            shards[shard] = builders[shard].build();
+        }
+        return shards;
+    }
+
+    /**
+     * Bearbeitet eine Anfrage des Koordinators.
+     * @throws IllegalArgumentException wenn ein angefragter Knoten nicht zu diesem Shard gehört
+     */
+    public ShardMessage.Response handle(ShardMessage.Request request) {
+        switch (request.getType()) {
+            case BOUNDARY_TABLE:
+                int[] globalBoundary = new int[boundary.length];
+                for (int i = 0; i < boundary.length; i++) {
+                    globalBoundary[i] = globalVertex[boundary[i]];
+                }
+                return ShardMessage.Response.boundaryTable(globalBoundary, getBoundaryTable(), cutEdges);
+            case DISTANCES_FROM:
+                return distancesFrom(toLocal(request.getSource()),
+                        request.getTarget() >= 0 ? toLocal(request.getTarget()) : -1);
+            case LOCAL_PATH:
+                return localPath(toLocal(request.getSource()), toLocal(request.getTarget()));
+            default:
+                throw new IllegalArgumentException("Unbekannte Anfrage: " + request.getType());
+        }
+    }
+
+    /**
+     * Distanzmatrix zwischen allen Randknoten; wird beim ersten Zugriff berechnet.
+     */
+    private synchronized double[] getBoundaryTable() {
+        if (boundaryTable == null) {
+            int k = boundary.length;
+            double[] table = new double[k * k];
+            for (int i = 0; i < k; i++) {
+                ShardMessage.Response row = distancesFrom(boundary[i], -1);
+                System.arraycopy(row.getDistances(), 0, table, i * k, k);
+            }
+            boundaryTable = table;
+        }
+        return boundaryTable;
+    }
+
+    /**
+     * Dijkstra-Suche innerhalb des Shards, bis alle Randknoten und das optionale Ziel abgeschlossen sind.
+     */
+    private ShardMessage.Response distancesFrom(int source, int target) {
+        SearchSpace space = searchSpaces.get();
+        int remaining = boundary.length + (target >= 0 && boundaryIndex[target] < 0 ? 1 : 0);
+
+        space.start(source);
+        while (!space.queue.isEmpty() && remaining > 0) {
+            int u = space.settleNext();
+            if (boundaryIndex[u] >= 0 || u == target) {
+                remaining--;
+            }
+            relaxArcs(u, space);
+        }
+
+        double[] toBoundary = new double[boundary.length];
+        for (int i = 0; i < boundary.length; i++) {
+            toBoundary[i] = space.distance[boundary[i]];
+        }
+        double toTarget = target >= 0 ? space.distance[target] : Double.POSITIVE_INFINITY;
+        space.reset();
+        return ShardMessage.Response.distances(toBoundary, toTarget);
+    }
+
+    /**
+     * Kürzester Pfad innerhalb des Shards als Folge globaler Kanten-IDs.
+     */
+    private ShardMessage.Response localPath(int source, int target) {
+        SearchSpace space = searchSpaces.get();
+
+        space.start(source);
+        while (!space.queue.isEmpty()) {
+            int u = space.settleNext();
+            if (u == target) {
+                break;
+            }
+            relaxArcs(u, space);
+        }
+
+        double distance = space.distance[target];
+        if (distance == Double.POSITIVE_INFINITY) {
+            space.reset();
+            return ShardMessage.Response.path(null, distance);
+        }
+
+        int length = 0;
+        for (int v = target; v != source; v = space.predecessor[v]) {
+            length++;
+        }
+        int[] edges = new int[length];
+        for (int v = target, i = length - 1; v != source; v = space.predecessor[v], i--) {
+            edges[i] = arcEdge[space.predecessorArc[v]];
+        }
+        space.reset();
+        return ShardMessage.Response.path(edges, distance);
+    }
+
+    private void relaxArcs(int u, SearchSpace space) {
+        double du = space.distance[u];
+        for (int a = firstArc[u]; a < firstArc[u + 1]; a++) {
+            space.relax(arcTarget[a], du + arcWeight[a], u, a);
+        }
+    }
+
+    private int toLocal(int global) {
+        int local = Arrays.binarySearch(globalVertex, global);
+        if (local < 0) {
+            throw new IllegalArgumentException("Knoten " + global + " gehört nicht zu Shard " + shardId);
+        }
+        return local;
+    }
+
+    public int getShardId() {
+        return shardId;
+    }
+
+    public int vertexCount() {
+        return globalVertex.length;
+    }
+
+    public int boundaryVertexCount() {
+        return boundary.length;
+    }
+}
@@ -0,0 +1,75 @@
+package at.htlhl.graphdemo;
+
+import java.util.Arrays;
+
+/**
+ * Wiederverwendbarer Arbeitsspeicher für eine Dijkstra-Suche über Knotenindizes.
+ * Merkt sich alle berührten Knoten, sodass das Zurücksetzen nur die tatsächlich
+ * besuchten Einträge kostet und nicht die Größe des ganzen Graphen.
+ */
+final class SearchSpace {
+
+    final double[] distance;
+    final int[] predecessor;
+    final int[] predecessorArc;
+    final boolean[] settled;
+    final IndexedMinHeap queue;
+
+    private final int[] touched;
+    private int touchedCount;
+
+    SearchSpace(int vertexCount) {
+        distance = new double[vertexCount];
+        predecessor = new int[vertexCount];
+        predecessorArc = new int[vertexCount];
+        settled = new boolean[vertexCount];
+        queue = new IndexedMinHeap(vertexCount);
+        touched = new int[vertexCount];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+    }
+
+    /**
+     * Setzt die vorherige Suche zurück und legt den Startknoten in die Warteschlange.
+     */
+    void start(int source) {
+        reset();
+        relax(source, 0.0, -1, -1);
+    }
+
+    /**
+     * Aktualisiert die Distanz eines Knotens, falls die neue Distanz kürzer ist.
+     * @return true, wenn die Distanz verbessert wurde
+     */
+    boolean relax(int vertex, double newDistance, int from, int arc) {
+        if (settled[vertex] || newDistance >= distance[vertex]) {
+            return false;
+        }
+        if (distance[vertex] == Double.POSITIVE_INFINITY) {
+            touched[touchedCount++] = vertex;
+        }
+        distance[vertex] = newDistance;
+        predecessor[vertex] = from;
+        predecessorArc[vertex] = arc;
+        queue.insertOrDecrease(vertex, newDistance);
+        return true;
+    }
+
+    /**
+     * Entnimmt den nächsten Knoten und markiert ihn als abgeschlossen.
+     */
+    int settleNext() {
+        int vertex = queue.poll();
+        settled[vertex] = true;
+        return vertex;
+    }
+
+    void reset() {
+        for (int i = 0; i < touchedCount; i++) {
+            int v = touched[i];
+            distance[v] = Double.POSITIVE_INFINITY;
+            settled[v] = false;
+        }
+        touchedCount = 0;
+        queue.clear();
+    }
+}
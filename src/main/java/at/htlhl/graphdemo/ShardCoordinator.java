@@ -0,0 +1,276 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Vertex;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Beantwortet Abfragen über mehrere {@link RoutingShard}s hinweg.
+ * <p>
+ * Beim Start holt der Koordinator von jedem Shard die Distanztabelle zwischen dessen
+ * Randknoten. Zusammen mit den Bögen zwischen den Shards ergibt das einen kleinen
+ * Randknotengraphen. Eine Abfrage fragt beim Start- und beim Ziel-Shard die Distanzen
+ * zu deren Randknoten ab, sucht im Randknotengraphen und lässt die einzelnen Teilstücke
+ * anschließend von den zuständigen Shards in Originalbögen auflösen.
+ * <p>
+ * Der Koordinator hält keine Adjazenz des Graphen: nur die Shard-Zuordnung, die
+ * Randknoten mit ihren Tabellen, die Kanten zwischen den Shards und das
+ * {@link ShardDirectory}, um Knoten in IDs und Kanten-IDs zurück in Kanten zu übersetzen.
+ * Die Threads bzw. Verbindungen des Transports werden mit {@link #close()} freigegeben.
+ */
+public class ShardCoordinator implements ShortestPathEngine {
+
+    private final ShardDirectory directory;
+    private final int[] shardOf;
+    private final ShardTransport transport;
+
+    // Randknotengraph: Index 0 .. B-1, nach Shard gruppiert, je Shard aufsteigend nach Knoten-ID
+    private final int[] shardStart;
+    private final int[] boundaryGlobal;
+    private final double[][] boundaryTable;
+
+    // Kanten zwischen Shards im CSR-Format über den Randknotenindizes
+    private final int[] cutFirst;
+    private final int[] cutTarget;
+    private final int[] cutWeight;
+    private final int[] cutEdge;
+
+    /**
+     * Erstellt den Koordinator und lädt die Randknotentabellen und Kanten zwischen
+     * den Shards von allen Shards.
+     * @param directory Knoten- und Kanten-IDs, dieselben wie beim Aufbau der Shards
+     * @param shardOf Shard jeder Knoten-ID, wie bei {@link RoutingShard#createShards}
+     * @param transport Verbindung zu den Shards
+     */
+    public ShardCoordinator(ShardDirectory directory, int[] shardOf, ShardTransport transport) {
+        this.directory = directory;
+        this.shardOf = shardOf;
+        this.transport = transport;
+
+        int shards = transport.shardCount();
+        List<CompletableFuture<ShardMessage.Response>> requests = new ArrayList<>();
+        for (int shard = 0; shard < shards; shard++) {
+            requests.add(transport.send(shard, ShardMessage.Request.boundaryTable()));
+        }
+
+        shardStart = new int[shards + 1];
+        boundaryTable = new double[shards][];
+        int[][] boundaries = new int[shards][];
+        int[][] cuts = new int[shards][];
+        for (int shard = 0; shard < shards; shard++) {
+            ShardMessage.Response response = requests.get(shard).join();
+            boundaries[shard] = response.getBoundaryVertices();
+            boundaryTable[shard] = response.getDistances();
+            cuts[shard] = response.getCutEdges();
+            shardStart[shard + 1] = shardStart[shard] + boundaries[shard].length;
+        }
+
+        boundaryGlobal = new int[shardStart[shards]];
+        for (int shard = 0; shard < shards; shard++) {
+            System.arraycopy(boundaries[shard], 0, boundaryGlobal, shardStart[shard], boundaries[shard].length);
+        }
+
+        // Kanten zwischen den Shards nach Randknoten sortiert ablegen
+        int b = boundaryGlobal.length;
+        cutFirst = new int[b + 1];
+        for (int[] cut : cuts) {
+            for (int i = 0; i < cut.length; i += 4) {
+                cutFirst[boundaryIndexOf(cut[i]) + 1]++;
+            }
+        }
+        for (int i = 0; i < b; i++) {
+            cutFirst[i + 1] += cutFirst[i];
+        }
+        cutTarget = new int[cutFirst[b]];
+        cutWeight = new int[cutFirst[b]];
+        cutEdge = new int[cutFirst[b]];
+        int[] fill = Arrays.copyOf(cutFirst, b);
+        for (int[] cut : cuts) {
+            for (int i = 0; i < cut.length; i += 4) {
+                int next = fill[boundaryIndexOf(cut[i])]++;
+                cutTarget[next] = boundaryIndexOf(cut[i + 1]);
+                cutWeight[next] = cut[i + 2];
+                cutEdge[next] = cut[i + 3];
+            }
+        }
+    }
+
+    /**
+     * Index eines Randknotens im Randknotengraphen.
+     */
+    private int boundaryIndexOf(int vertex) {
+        int shard = shardOf[vertex];
+        int index = Arrays.binarySearch(boundaryGlobal, shardStart[shard], shardStart[shard + 1], vertex);
+        if (index < 0) {
+            throw new IllegalStateException("Knoten " + vertex + " ist kein Randknoten von Shard " + shard);
+        }
+        return index;
+    }
+
+    /**
+     * Verteilt die Knoten auf Shards. Der Graph wird zunächst in kleine, zusammenhängende
+     * Zellen zerlegt ({@link GraphPartition}); aufeinanderfolgende Zellen werden dann
+     * gleichmäßig auf die Shards aufgeteilt.
+     * Die Knotenindizes des Graphen sind zugleich die Knoten-IDs von {@link ShardDirectory#of}.
+     * @return Shard jedes Knotens
+     * @throws IllegalArgumentException wenn {@code shardCount} nicht positiv ist
+     */
+    public static int[] assignShards(CompiledGraph graph, int shardCount) {
+        if (shardCount <= 0) {
+            throw new IllegalArgumentException("Anzahl der Shards muss positiv sein: " + shardCount);
+        }
+        int n = graph.vertexCount();
+        int[] shardOf = new int[n];
+        if (n == 0) {
+            return shardOf;
+        }
+
+        GraphPartition partition = GraphPartition.create(graph, Math.max(1, n / (shardCount * 16)));
+        int cells = partition.cellCount(1);
+        for (int v = 0; v < n; v++) {
+            shardOf[v] = (int) ((long) partition.cellOf(1, v) * shardCount / cells);
+        }
+        return shardOf;
+    }
+
+    @Override
+    public DijkstraAlgorithm.DijkstraResult findShortestPath(Vertex<VertaxData> startVertex, Vertex<VertaxData> endVertex) {
+        // Validierung
+        if (startVertex == null || endVertex == null) {
+            return new DijkstraAlgorithm.DijkstraResult(null, Double.POSITIVE_INFINITY, null);
+        }
+
+        int source = directory.vertexId(startVertex);
+        int target = directory.vertexId(endVertex);
+        if (source < 0 || target < 0) {
+            return new DijkstraAlgorithm.DijkstraResult(null, Double.POSITIVE_INFINITY, null);
+        }
+
+        int sourceShard = shardOf[source];
+        int targetShard = shardOf[target];
+
+        // Start- und Ziel-Shard parallel befragen
+        CompletableFuture<ShardMessage.Response> fromSource = transport.send(sourceShard,
+                ShardMessage.Request.distancesFrom(source, sourceShard == targetShard ? target : -1));
+        CompletableFuture<ShardMessage.Response> toTarget = transport.send(targetShard,
+                ShardMessage.Request.distancesFrom(target, -1));
+        double[] sourceDistances = fromSource.join().getDistances();
+        double directDistance = fromSource.join().getDistance();
+        double[] targetDistances = toTarget.join().getDistances();
+
+        // Suche im Randknotengraphen; zusätzliche Knoten für Start und Ziel
+        int b = boundaryGlobal.length;
+        int sourceNode = b;
+        int targetNode = b + 1;
+        double[] distance = new double[b + 2];
+        int[] predecessor = new int[b + 2];
+        int[] predecessorEdge = new int[b + 2];
+        Arrays.fill(distance, Double.POSITIVE_INFINITY);
+        IndexedMinHeap queue = new IndexedMinHeap(b + 2);
+
+        distance[sourceNode] = 0.0;
+        queue.insertOrDecrease(sourceNode, 0.0);
+
+        while (!queue.isEmpty()) {
+            int u = queue.poll();
+            if (u == targetNode) {
+                break;
+            }
+            double du = distance[u];
+
+            if (u == sourceNode) {
+                int from = shardStart[sourceShard];
+                for (int i = 0; i < sourceDistances.length; i++) {
+                    relax(from + i, du + sourceDistances[i], u, -1, distance, predecessor, predecessorEdge, queue);
+                }
+                relax(targetNode, du + directDistance, u, -1, distance, predecessor, predecessorEdge, queue);
+                continue;
+            }
+
+            // Randknoten: Tabelle des eigenen Shards, Bögen zu anderen Shards, ggf. zum Ziel
+            int shard = shardOf[boundaryGlobal[u]];
+            int from = shardStart[shard];
+            int k = shardStart[shard + 1] - from;
+            int row = (u - from) * k;
+            for (int j = 0; j < k; j++) {
+                relax(from + j, du + boundaryTable[shard][row + j], u, -1, distance, predecessor, predecessorEdge, queue);
+            }
+            for (int a = cutFirst[u]; a < cutFirst[u + 1]; a++) {
+                relax(cutTarget[a], du + cutWeight[a], u, cutEdge[a], distance, predecessor, predecessorEdge, queue);
+            }
+            if (shard == targetShard) {
+                relax(targetNode, du + targetDistances[u - from], u, -1, distance, predecessor, predecessorEdge, queue);
+            }
+        }
+
+        // Prüfe, ob ein Pfad zum Zielknoten existiert
+        if (distance[targetNode] == Double.POSITIVE_INFINITY) {
+            return new DijkstraAlgorithm.DijkstraResult(null, Double.POSITIVE_INFINITY, null);
+        }
+
+        // Teilstücke vom Ziel rückwärts sammeln; lokale Teilstücke bei den Shards anfragen
+        List<CompletableFuture<ShardMessage.Response>> segments = new ArrayList<>();
+        List<Integer> segmentEdge = new ArrayList<>();
+        for (int v = targetNode; v != sourceNode; v = predecessor[v]) {
+            int u = predecessor[v];
+            if (predecessorEdge[v] >= 0) {
+                segments.add(null);
+                segmentEdge.add(predecessorEdge[v]);
+            } else {
+                int from = u == sourceNode ? source : boundaryGlobal[u];
+                int to = v == targetNode ? target : boundaryGlobal[v];
+                segments.add(transport.send(shardOf[from], ShardMessage.Request.localPath(from, to)));
+                segmentEdge.add(-1);
+            }
+        }
+
+        List<Integer> edges = new ArrayList<>();
+        for (int i = segments.size() - 1; i >= 0; i--) {
+            if (segments.get(i) == null) {
+                edges.add(segmentEdge.get(i));
+            } else {
+                for (int edge : segments.get(i).join().getEdges()) {
+                    edges.add(edge);
+                }
+            }
+        }
+
+        int[] path = new int[edges.size()];
+        for (int i = 0; i < path.length; i++) {
+            path[i] = edges.get(i);
+        }
+        return directory.toResult(startVertex, path, distance[targetNode]);
+    }
+
+    private static void relax(int v, double newDistance, int from, int edge, double[] distance,
+                              int[] predecessor, int[] predecessorEdge, IndexedMinHeap queue) {
+        if (newDistance < distance[v]) {
+            distance[v] = newDistance;
+            predecessor[v] = from;
+            predecessorEdge[v] = edge;
+            queue.insertOrDecrease(v, newDistance);
+        }
+    }
+
+    /**
+     * @return Anzahl der Randknoten aller Shards
+     */
+    public int boundaryVertexCount() {
+        return boundaryGlobal.length;
+    }
+
+    public ShardTransport getTransport() {
+        return transport;
+    }
+
+    /**
+     * Schließt den Transport zu den Shards.
+     */
+    @Override
+    public void close() {
+        transport.close();
+    }
+}
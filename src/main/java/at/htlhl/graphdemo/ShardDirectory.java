@@ -0,0 +1,91 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Edge;
+import com.brunomnsilva.smartgraph.graph.Vertex;
+
+import java.util.*;
+
+/**
+ * Nachschlagetabelle des {@link ShardCoordinator} zwischen den SmartGraph-Objekten und
+ * den globalen IDs, mit denen Koordinator und Shards arbeiten.
+ * Enthält nur die Zuordnung Knoten -> Knoten-ID und Kanten-ID -> Kante, aber keine
+ * Adjazenz: die Struktur des Graphen liegt ausschließlich in den {@link RoutingShard}s.
+ */
+public class ShardDirectory {
+
+    private final Map<Vertex<VertaxData>, Integer> vertexIds;
+    private final Edge<EdgeData, VertaxData>[] edges;
+
+    private ShardDirectory(Map<Vertex<VertaxData>, Integer> vertexIds, Edge<EdgeData, VertaxData>[] edges) {
+        this.vertexIds = vertexIds;
+        this.edges = edges;
+    }
+
+    /**
+     * Übernimmt die Knotennummerierung des kompilierten Graphen als Knoten-IDs und
+     * nummeriert die Kanten (ohne Schleifen) fortlaufend. Der kompilierte Graph wird
+     * danach nicht mehr benötigt.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static ShardDirectory of(CompiledGraph graph) {
+        int n = graph.vertexCount();
+        Map<Vertex<VertaxData>, Integer> vertexIds = new HashMap<>(n * 2);
+        for (int v = 0; v < n; v++) {
+            vertexIds.put(graph.vertex(v), v);
+        }
+
+        // Jede Kante hat zwei Bögen; gezählt wird nur der Bogen zum größeren Index
+        Edge<EdgeData, VertaxData>[] edges = new Edge[graph.arcCount() / 2];
+        int next = 0;
+        for (int v = 0; v < n; v++) {
+            for (int a = graph.arcsBegin(v); a < graph.arcsEnd(v); a++) {
+                if (graph.arcTarget(a) > v) {
+                    edges[next++] = graph.arcEdge(a);
+                }
+            }
+        }
+        return new ShardDirectory(vertexIds, edges);
+    }
+
+    /**
+     * @return ID des Knotens oder -1, falls er unbekannt ist
+     */
+    public int vertexId(Vertex<VertaxData> vertex) {
+        Integer id = vertexIds.get(vertex);
+        return id != null ? id : -1;
+    }
+
+    public int vertexCount() {
+        return vertexIds.size();
+    }
+
+    public int edgeCount() {
+        return edges.length;
+    }
+
+    public Edge<EdgeData, VertaxData> edge(int id) {
+        return edges[id];
+    }
+
+    /**
+     * Übersetzt einen Pfad aus Kanten-IDs in ein {@link DijkstraAlgorithm.DijkstraResult}.
+     * Die Knoten des Pfades ergeben sich aus den Endpunkten der Kanten.
+     * @param start Startknoten
+     * @param edgeIds Kanten des Pfades in Laufrichtung
+     * @param distance Gesamtdistanz
+     */
+    public DijkstraAlgorithm.DijkstraResult toResult(Vertex<VertaxData> start, int[] edgeIds, double distance) {
+        List<Vertex<VertaxData>> path = new ArrayList<>(edgeIds.length + 1);
+        List<Edge<EdgeData, VertaxData>> pathEdges = new ArrayList<>(edgeIds.length);
+        Vertex<VertaxData> current = start;
+        path.add(current);
+        for (int id : edgeIds) {
+            Edge<EdgeData, VertaxData> edge = edges[id];
+            Vertex<VertaxData>[] ends = edge.vertices();
+            current = ends[0].equals(current) ? ends[1] : ends[0];
+            path.add(current);
+            pathEdges.add(edge);
+        }
+        return new DijkstraAlgorithm.DijkstraResult(path, distance, pathEdges);
+    }
+}
@@ -0,0 +1,133 @@
+package at.htlhl.graphdemo;
+
+/**
+ * Nachrichten zwischen {@link ShardCoordinator} und {@link RoutingShard}.
+ * Enthalten nur primitive Werte und Arrays mit globalen Knoten- und Kanten-IDs
+ * (siehe {@link ShardDirectory}), damit sie von jeder {@link ShardTransport}-Implementierung
+ * übertragen werden können.
+ */
+public final class ShardMessage {
+
+    private ShardMessage() {
+    }
+
+    /**
+     * Art der Anfrage.
+     */
+    public enum Type {
+        /** Randknoten des Shards, ihre paarweisen Distanzen innerhalb des Shards und die Kanten zu anderen Shards. */
+        BOUNDARY_TABLE,
+        /** Distanzen von einem Knoten zu allen Randknoten (und optional zu einem Ziel) im Shard. */
+        DISTANCES_FROM,
+        /** Kürzester Pfad zwischen zwei Knoten innerhalb des Shards. */
+        LOCAL_PATH
+    }
+
+    /**
+     * Anfrage an einen Shard.
+     */
+    public static class Request {
+        private final Type type;
+        private final int source;
+        private final int target;
+
+        private Request(Type type, int source, int target) {
+            this.type = type;
+            this.source = source;
+            this.target = target;
+        }
+
+        public static Request boundaryTable() {
+            return new Request(Type.BOUNDARY_TABLE, -1, -1);
+        }
+
+        /**
+         * @param source Globaler Startknoten
+         * @param target Globaler Zielknoten im selben Shard oder -1
+         */
+        public static Request distancesFrom(int source, int target) {
+            return new Request(Type.DISTANCES_FROM, source, target);
+        }
+
+        public static Request localPath(int source, int target) {
+            return new Request(Type.LOCAL_PATH, source, target);
+        }
+
+        public Type getType() {
+            return type;
+        }
+
+        public int getSource() {
+            return source;
+        }
+
+        public int getTarget() {
+            return target;
+        }
+    }
+
+    /**
+     * Antwort eines Shards. Welche Felder belegt sind, hängt vom {@link Type} der Anfrage ab.
+     */
+    public static class Response {
+        private final int[] boundaryVertices;
+        private final double[] distances;
+        private final double distance;
+        private final int[] edges;
+        private final int[] cutEdges;
+
+        private Response(int[] boundaryVertices, double[] distances, double distance, int[] edges, int[] cutEdges) {
+            this.boundaryVertices = boundaryVertices;
+            this.distances = distances;
+            this.distance = distance;
+            this.edges = edges;
+            this.cutEdges = cutEdges;
+        }
+
+        /**
+         * @param boundaryVertices Globale Randknoten des Shards
+         * @param table Distanzmatrix (k x k, zeilenweise) zwischen den Randknoten
+         * @param cutEdges Kanten zu anderen Shards, je Kante vier Werte: Randknoten,
+         *                 Knoten im anderen Shard, Gewicht, Kanten-ID
+         */
+        public static Response boundaryTable(int[] boundaryVertices, double[] table, int[] cutEdges) {
+            return new Response(boundaryVertices, table, Double.NaN, null, cutEdges);
+        }
+
+        /**
+         * @param toBoundary Distanz zu jedem Randknoten in der Reihenfolge der Randknotentabelle
+         * @param toTarget Distanz zum angefragten Ziel oder unendlich
+         */
+        public static Response distances(double[] toBoundary, double toTarget) {
+            return new Response(null, toBoundary, toTarget, null, null);
+        }
+
+        /**
+         * @param edges Kanten-IDs des Pfades in Laufrichtung
+         * @param distance Länge des Pfades
+         */
+        public static Response path(int[] edges, double distance) {
+            return new Response(null, null, distance, edges, null);
+        }
+
+        public int[] getBoundaryVertices() {
+            return boundaryVertices;
+        }
+
+        public double[] getDistances() {
+            return distances;
+        }
+
+        public double getDistance() {
+            return distance;
+        }
+
+        public int[] getEdges() {
+            return edges;
+        }
+
+        public int[] getCutEdges() {
+            return cutEdges;
+        }
+    }
+}
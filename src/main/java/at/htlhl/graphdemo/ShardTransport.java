@@ -0,0 +1,32 @@
+package at.htlhl.graphdemo;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Übertragungsschicht zwischen {@link ShardCoordinator} und den Shards.
+ * Anfragen werden asynchron gesendet, damit der Koordinator mehrere Shards
+ * gleichzeitig befragen kann. {@link LoopbackShardTransport} betreibt alle Shards
+ * im selben Prozess; weitere Implementierungen (z.B. über Sockets) können die
+ * Nachrichten aus {@link ShardMessage} unverändert übertragen.
+ */
+public interface ShardTransport extends AutoCloseable {
+
+    /**
+     * @return Anzahl der erreichbaren Shards
+     */
+    int shardCount();
+
+    /**
+     * Sendet eine Anfrage an einen Shard.
+     * @param shard Nummer des Shards
+     * @param request Die Anfrage
+     * @return Antwort, sobald der Shard sie geliefert hat
+     */
+    CompletableFuture<ShardMessage.Response> send(int shard, ShardMessage.Request request);
+
+    /**
+     * Gibt die Verbindungen zu den Shards frei.
+     */
+    @Override
+    void close();
+}
@@ -0,0 +1,27 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Vertex;
+
+/**
+ * Gemeinsame Schnittstelle aller Verfahren zur Berechnung kürzester Pfade.
+ * Ermöglicht es, die einfache Dijkstra-Implementierung und die schnelleren
+ * Varianten (z.B. auf dem kompilierten Graphen) austauschbar zu verwenden.
+ * Verfahren, die Threads oder Verbindungen halten, geben diese mit {@link #close()} frei.
+ */
+public interface ShortestPathEngine extends AutoCloseable {
+
+    /**
+     * Berechnet den kürzesten Pfad zwischen zwei Knoten.
+     * @param startVertex Startknoten
+     * @param endVertex Zielknoten
+     * @return DijkstraResult mit Pfad, Distanz und verwendeten Kanten
+     */
+    DijkstraAlgorithm.DijkstraResult findShortestPath(Vertex<VertaxData> startVertex, Vertex<VertaxData> endVertex);
+
+    /**
+     * Gibt Ressourcen des Verfahrens frei. Standardmäßig gibt es nichts freizugeben.
+     */
+    @Override
+    default void close() {
+    }
+}
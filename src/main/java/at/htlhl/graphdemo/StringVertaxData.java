@@ -0,0 +1,17 @@
+package at.htlhl.graphdemo;
+
+/**
+ * Knotendaten mit eigenem Namens-String, z.B. für einzelne, nachträglich eingefügte Knoten.
+ */
+public class StringVertaxData extends VertaxData {
+    private final String name;
+
+    public StringVertaxData(String name) {
+        this.name = name;
+    }
+
+    @Override
+    public String getName() {
+        return name;
+    }
+}
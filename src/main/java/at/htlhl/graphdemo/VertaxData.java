@@ -1,24 +1,16 @@
 package at.htlhl.graphdemo;
 
-public class VertaxData {
-    private String name;
+/**
+ * Daten eines Knotens (Stadt). Wie der Name gespeichert wird, legen die Unterklassen fest:
+ * {@link StringVertaxData} hält einen eigenen String, {@link DictionaryVertaxData} nur eine
+ * ID in einem gemeinsamen {@link NameDictionary}.
+ */
+public abstract class VertaxData {
 
-    public void VertaxData(String name) {
-        this.name = name;
-    }
-
-    public String getName() {
-        return name;
-    }
-
-    public VertaxData(String name) {
-        this.name = name;
-    }
+    public abstract String getName();
 
     @Override
     public String toString() {
-        return name;
+        return getName();
     }
-
-
 }
@@ -0,0 +1,142 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Vertex;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+/**
+ * Namensindex über die Knoten eines Graphen auf Basis eines {@link NameDictionary}.
+ * Ersetzt das lineare Durchsuchen von {@code graph.vertices()} bei der Suche nach Namen
+ * und liefert Vorschläge für die Autovervollständigung der Start-/Ziel-Auswahl.
+ * Mehrere Knoten dürfen denselben Namen tragen.
+ */
+public class VertexNameIndex {
+
+    private final NameDictionary dictionary;
+    private final Vertex<VertaxData>[] vertices;
+
+    // Knotenpositionen je Namens-ID: [firstVertex[id], firstVertex[id + 1]) in byName
+    private final int[] firstVertex;
+    private final int[] byName;
+
+    private VertexNameIndex(NameDictionary dictionary, Vertex<VertaxData>[] vertices, int[] firstVertex, int[] byName) {
+        this.dictionary = dictionary;
+        this.vertices = vertices;
+        this.firstVertex = firstVertex;
+        this.byName = byName;
+    }
+
+    /**
+     * Erstellt den Index über die Knoten in der gegebenen Reihenfolge.
+     * Verwenden alle Knoten dasselbe Wörterbuch ({@link DictionaryVertaxData}), werden es und
+     * die Namens-IDs direkt übernommen; sonst wird ein eigenes Wörterbuch aus den Namen erstellt.
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static VertexNameIndex build(Collection<Vertex<VertaxData>> vertices) {
+        Vertex<VertaxData>[] array = vertices.toArray(new Vertex[0]);
+        int n = array.length;
+
+        NameDictionary dictionary = sharedDictionary(array);
+        int[] nameOf = new int[n];
+        if (dictionary != null) {
+            for (int i = 0; i < n; i++) {
+                nameOf[i] = ((DictionaryVertaxData) array[i].element()).getNameId();
+            }
+        } else {
+            NameDictionary.Builder builder = new NameDictionary.Builder();
+            for (int i = 0; i < n; i++) {
+                nameOf[i] = builder.add(array[i].element().getName());
+            }
+            dictionary = builder.build();
+        }
+
+        // Knoten nach Namens-ID gruppieren (Counting Sort)
+        int[] firstVertex = new int[dictionary.size() + 1];
+        for (int id : nameOf) {
+            firstVertex[id + 1]++;
+        }
+        for (int id = 0; id < dictionary.size(); id++) {
+            firstVertex[id + 1] += firstVertex[id];
+        }
+        int[] byName = new int[n];
+        int[] fill = firstVertex.clone();
+        for (int i = 0; i < n; i++) {
+            byName[fill[nameOf[i]]++] = i;
+        }
+
+        return new VertexNameIndex(dictionary, array, firstVertex, byName);
+    }
+
+    /**
+     * @return Das gemeinsame Wörterbuch aller Knoten oder null, wenn nicht alle Knoten dasselbe verwenden
+     */
+    private static NameDictionary sharedDictionary(Vertex<VertaxData>[] vertices) {
+        NameDictionary shared = null;
+        for (Vertex<VertaxData> vertex : vertices) {
+            if (!(vertex.element() instanceof DictionaryVertaxData data)
+                    || (shared != null && data.getDictionary() != shared)) {
+                return null;
+            }
+            shared = data.getDictionary();
+        }
+        return shared;
+    }
+
+    /**
+     * @return Alle Knoten mit exakt diesem Namen
+     */
+    public List<Vertex<VertaxData>> find(String name) {
+        List<Vertex<VertaxData>> result = new ArrayList<>();
+        int id = dictionary.find(name);
+        if (id >= 0) {
+            for (int i = firstVertex[id]; i < firstVertex[id + 1]; i++) {
+                result.add(vertices[byName[i]]);
+            }
+        }
+        return result;
+    }
+
+    /**
+     * @return Erster Knoten mit exakt diesem Namen oder null
+     */
+    public Vertex<VertaxData> findFirst(String name) {
+        int id = dictionary.find(name);
+        return id >= 0 ? vertices[byName[firstVertex[id]]] : null;
+    }
+
+    /**
+     * Wie {@link #findFirst}, ignoriert aber die Groß-/Kleinschreibung, falls es keinen
+     * exakten Treffer gibt (z.B. "new york" für "New York").
+     * @return Passender Knoten oder null
+     */
+    public Vertex<VertaxData> findFirstIgnoreCase(String name) {
+        Vertex<VertaxData> vertex = findFirst(name);
+        if (vertex != null) {
+            return vertex;
+        }
+        int id = dictionary.findIgnoreCase(name);
+        return id >= 0 ? vertices[byName[firstVertex[id]]] : null;
+    }
+
+    /**
+     * Vorschläge für die Autovervollständigung.
+     * @param prefix Eingegebener Anfang des Namens (Groß-/Kleinschreibung egal)
+     * @param limit Maximale Anzahl an Knoten
+     * @return Knoten in alphabetischer Reihenfolge ihrer Namen
+     */
+    public List<Vertex<VertaxData>> findByPrefix(String prefix, int limit) {
+        List<Vertex<VertaxData>> result = new ArrayList<>();
+        for (int id : dictionary.findByPrefix(prefix, limit)) {
+            for (int i = firstVertex[id]; i < firstVertex[id + 1] && result.size() < limit; i++) {
+                result.add(vertices[byName[i]]);
+            }
+        }
+        return result;
+    }
+
+    public NameDictionary getDictionary() {
+        return dictionary;
+    }
+}
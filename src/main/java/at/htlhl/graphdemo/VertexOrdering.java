@@ -0,0 +1,266 @@
+package at.htlhl.graphdemo;
+
+import java.util.Arrays;
+
+/**
+ * Verfahren zur Neunummerierung der Knoten beim Kompilieren des Graphen.
+ * Ziel ist, dass benachbarte Knoten auch im Speicher nahe beieinander liegen,
+ * damit die Distanz- und Adjazenz-Arrays beim Relaxieren cachefreundlich gelesen werden.
+ */
+public enum VertexOrdering {
+
+    /** Reihenfolge, in der {@code graph.vertices()} die Knoten liefert. */
+    INPUT,
+
+    /** Breitensuche: Nachbarn erhalten fortlaufende Nummern. */
+    BFS,
+
+    /** Reverse Cuthill-McKee: minimiert die Bandbreite der Adjazenzmatrix. */
+    REVERSE_CUTHILL_MCKEE,
+
+    /** Sortierung entlang einer Hilbert-Kurve über die Knotenkoordinaten. */
+    HILBERT;
+
+    /**
+     * Berechnet die neue Reihenfolge der Knoten.
+     * @param firstArc CSR-Offsets der Adjazenzlisten (Länge n + 1)
+     * @param arcTarget Zielknoten aller Bögen
+     * @param x X-Koordinaten (nur für {@link #HILBERT}, sonst null)
+     * @param y Y-Koordinaten (nur für {@link #HILBERT}, sonst null)
+     * @return Array mit order[neuerIndex] = alterIndex
+     */
+    int[] computeOrder(int[] firstArc, int[] arcTarget, double[] x, double[] y) {
+        int n = firstArc.length - 1;
+        switch (this) {
+            case BFS:
+                return breadthFirstOrder(n, firstArc, arcTarget);
+            case REVERSE_CUTHILL_MCKEE:
+                return reverseCuthillMcKeeOrder(n, firstArc, arcTarget);
+            case HILBERT:
+                if (x == null || y == null) {
+                    throw new IllegalArgumentException("Hilbert-Sortierung benötigt Knotenkoordinaten");
+                }
+                return hilbertOrder(n, x, y);
+            default:
+                int[] identity = new int[n];
+                for (int i = 0; i < n; i++) {
+                    identity[i] = i;
+                }
+                return identity;
+        }
+    }
+
+    /**
+     * Nummeriert die Knoten in Breitensuch-Reihenfolge, Komponente für Komponente.
+     */
+    private static int[] breadthFirstOrder(int n, int[] firstArc, int[] arcTarget) {
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        int head = 0;
+        int tail = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (visited[root]) {
+                continue;
+            }
+            visited[root] = true;
+            order[tail++] = root;
+
+            // Die Ergebnisliste dient gleichzeitig als Warteschlange
+            while (head < tail) {
+                int u = order[head++];
+                for (int a = firstArc[u]; a < firstArc[u + 1]; a++) {
+                    int v = arcTarget[a];
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        order[tail++] = v;
+                    }
+                }
+            }
+        }
+        return order;
+    }
+
+    /**
+     * Cuthill-McKee: Breitensuche ab einem pseudo-peripheren Knoten, Nachbarn
+     * nach aufsteigendem Grad. Die Reihenfolge wird am Ende umgekehrt.
+     */
+    private static int[] reverseCuthillMcKeeOrder(int n, int[] firstArc, int[] arcTarget) {
+        int[] order = new int[n];
+        boolean[] visited = new boolean[n];
+        int[] level = new int[n];
+        int[] queue = new int[n];
+        Arrays.fill(level, -1);
+        int tail = 0;
+
+        for (int root = 0; root < n; root++) {
+            if (visited[root]) {
+                continue;
+            }
+
+            int start = findPseudoPeripheralVertex(root, firstArc, arcTarget, level, queue);
+
+            int head = tail;
+            visited[start] = true;
+            order[tail++] = start;
+
+            while (head < tail) {
+                int u = order[head++];
+                int neighborsFrom = tail;
+                for (int a = firstArc[u]; a < firstArc[u + 1]; a++) {
+                    int v = arcTarget[a];
+                    if (!visited[v]) {
+                        visited[v] = true;
+                        order[tail++] = v;
+                    }
+                }
+                sortByDegree(order, neighborsFrom, tail, firstArc);
+            }
+        }
+
+        // Umkehren
+        for (int i = 0, j = n - 1; i < j; i++, j--) {
+            int tmp = order[i];
+            order[i] = order[j];
+            order[j] = tmp;
+        }
+        return order;
+    }
+
+    /**
+     * Sucht ausgehend von {@code root} einen Knoten mit möglichst großer Exzentrizität
+     * (Verfahren nach George und Liu).
+     */
+    private static int findPseudoPeripheralVertex(int root, int[] firstArc, int[] arcTarget,
+                                                  int[] level, int[] queue) {
+        int current = root;
+        int currentEccentricity = -1;
+
+        while (true) {
+            int reached = bfsLevels(current, firstArc, arcTarget, level, queue);
+            int eccentricity = level[queue[reached - 1]];
+
+            // Unter den Knoten der letzten Ebene den mit dem kleinsten Grad wählen
+            int candidate = queue[reached - 1];
+            for (int i = reached - 1; i >= 0 && level[queue[i]] == eccentricity; i--) {
+                if (degree(queue[i], firstArc) < degree(candidate, firstArc)) {
+                    candidate = queue[i];
+                }
+            }
+
+            // level[] für den nächsten Durchlauf zurücksetzen
+            for (int i = 0; i < reached; i++) {
+                level[queue[i]] = -1;
+            }
+
+            if (eccentricity <= currentEccentricity) {
+                return current;
+            }
+            currentEccentricity = eccentricity;
+            current = candidate;
+        }
+    }
+
+    /**
+     * Breitensuche mit Tiefenangabe; level[] muss für unbesuchte Knoten -1 enthalten.
+     * @return Anzahl der erreichten Knoten (stehen in queue[0 .. reached - 1])
+     */
+    private static int bfsLevels(int start, int[] firstArc, int[] arcTarget, int[] level, int[] queue) {
+        int head = 0;
+        int tail = 0;
+
+        level[start] = 0;
+        queue[tail++] = start;
+
+        while (head < tail) {
+            int u = queue[head++];
+            for (int a = firstArc[u]; a < firstArc[u + 1]; a++) {
+                int v = arcTarget[a];
+                if (level[v] < 0) {
+                    level[v] = level[u] + 1;
+                    queue[tail++] = v;
+                }
+            }
+        }
+        return tail;
+    }
+
+    private static int degree(int v, int[] firstArc) {
+        return firstArc[v + 1] - firstArc[v];
+    }
+
+    /**
+     * Insertion Sort nach Knotengrad; die Nachbarlisten sind in der Regel kurz.
+     */
+    private static void sortByDegree(int[] order, int from, int to, int[] firstArc) {
+        for (int i = from + 1; i < to; i++) {
+            int v = order[i];
+            int d = degree(v, firstArc);
+            int j = i - 1;
+            while (j >= from && degree(order[j], firstArc) > d) {
+                order[j + 1] = order[j];
+                j--;
+            }
+            order[j + 1] = v;
+        }
+    }
+
+    /**
+     * Sortiert die Knoten nach ihrem Index auf einer Hilbert-Kurve der Ordnung 15.
+     */
+    private static int[] hilbertOrder(int n, double[] x, double[] y) {
+        double minX = Double.POSITIVE_INFINITY;
+        double minY = Double.POSITIVE_INFINITY;
+        double maxX = Double.NEGATIVE_INFINITY;
+        double maxY = Double.NEGATIVE_INFINITY;
+        for (int i = 0; i < n; i++) {
+            minX = Math.min(minX, x[i]);
+            minY = Math.min(minY, y[i]);
+            maxX = Math.max(maxX, x[i]);
+            maxY = Math.max(maxY, y[i]);
+        }
+
+        final int side = 1 << 15;
+        double scaleX = maxX > minX ? (side - 1) / (maxX - minX) : 0;
+        double scaleY = maxY > minY ? (side - 1) / (maxY - minY) : 0;
+
+        // Hilbert-Index in den oberen 32 Bit, alter Index in den unteren 32 Bit
+        long[] keys = new long[n];
+        for (int i = 0; i < n; i++) {
+            int hx = (int) ((x[i] - minX) * scaleX);
+            int hy = (int) ((y[i] - minY) * scaleY);
+            keys[i] = (hilbertIndex(side, hx, hy) << 32) | i;
+        }
+        Arrays.sort(keys);
+
+        int[] order = new int[n];
+        for (int i = 0; i < n; i++) {
+            order[i] = (int) keys[i];
+        }
+        return order;
+    }
+
+    /**
+     * Wandelt eine Gitterposition in den Abstand entlang der Hilbert-Kurve um.
+     */
+    private static long hilbertIndex(int side, int x, int y) {
+        long d = 0;
+        for (int s = side / 2; s > 0; s /= 2) {
+            int rx = (x & s) > 0 ? 1 : 0;
+            int ry = (y & s) > 0 ? 1 : 0;
+            d += (long) s * s * ((3 * rx) ^ ry);
+
+            // Quadrant drehen
+            if (ry == 0) {
+                if (rx == 1) {
+                    x = side - 1 - x;
+                    y = side - 1 - y;
+                }
+                int tmp = x;
+                x = y;
+                y = tmp;
+            }
+        }
+        return d;
+    }
+}
@@ -2,6 +2,7 @@ module at.htlhl.graphdemo {
     requires javafx.controls;
     requires javafx.fxml;
     requires com.brunomnsilva.smartgraph;
+    requires jdk.management;
 
     opens at.htlhl.graphdemo to javafx.fxml;
     exports at.htlhl.graphdemo;
@@ -0,0 +1,249 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Edge;
+import com.brunomnsilva.smartgraph.graph.Graph;
+import com.brunomnsilva.smartgraph.graph.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Vergleicht alle Verfahren auf zufälligen Graphen mit einer Floyd-Warshall-Referenz.
+ * Geprüft werden die Distanz, die Erreichbarkeit und die Gültigkeit des Pfades
+ * (Start, Ziel, zusammenhängende Kanten, Summe der Gewichte). Schlägt ein Graph fehl,
+ * wird er mit {@link GraphSpec#shrink} auf ein minimales Gegenbeispiel verkleinert,
+ * das zusammen mit dem Seed in der Fehlermeldung steht.
+ */
+class EngineDifferentialTest {
+
+    private static final long SEED = 20240601L;
+    private static final int TRIALS = 150;
+    private static final int MAX_VERTICES = 30;
+    private static final int MAX_PAIRS = 150;
+    private static final double INF = Double.POSITIVE_INFINITY;
+
+    /**
+     * Alle Standardverfahren aus {@link EngineMode}, alle weiteren Knotenreihenfolgen und
+     * zusätzlich Konfigurationen mit sehr kleinen Zellen bzw. vielen Shards, damit auch auf
+     * kleinen Graphen mehrere Ebenen und Shard-Grenzen entstehen.
+     */
+    private static Map<String, Function<GraphSpec.Built, ShortestPathEngine>> engines() {
+        Map<String, Function<GraphSpec.Built, ShortestPathEngine>> engines = new LinkedHashMap<>();
+        for (EngineMode mode : EngineMode.values()) {
+            engines.put(mode.getCliName(), built -> mode.create(built.graph));
+        }
+        engines.put("compiled-bfs", built ->
+                new CompiledDijkstraAlgorithm(CompiledGraph.compile(built.graph, VertexOrdering.BFS)));
+        engines.put("compiled-hilbert", built -> new CompiledDijkstraAlgorithm(
+                CompiledGraph.compile(built.graph, VertexOrdering.HILBERT, built::x, built::y)));
+        engines.put("overlay-2-4-8", built -> overlay(built.graph, 2, 4, 8));
+        engines.put("overlay-3", built -> overlay(built.graph, 3));
+        engines.put("sharded-1", built -> sharded(built.graph, 1));
+        engines.put("sharded-3", built -> sharded(built.graph, 3));
+        engines.put("sharded-7", built -> sharded(built.graph, 7));
+        return engines;
+    }
+
+    private static OverlayDijkstraAlgorithm overlay(Graph<VertaxData, EdgeData> graph, int... cellSizes) {
+        CompiledGraph compiled = CompiledGraph.compile(graph, VertexOrdering.REVERSE_CUTHILL_MCKEE);
+        return new OverlayDijkstraAlgorithm(MultiLevelOverlay.build(compiled, GraphPartition.create(compiled, cellSizes)));
+    }
+
+    private static ShardCoordinator sharded(Graph<VertaxData, EdgeData> graph, int shardCount) {
+        CompiledGraph compiled = CompiledGraph.compile(graph);
+        ShardDirectory directory = ShardDirectory.of(compiled);
+        int[] shardOf = ShardCoordinator.assignShards(compiled, shardCount);
+        RoutingShard[] shards = RoutingShard.createShards(directory, shardOf, shardCount);
+        return new ShardCoordinator(directory, shardOf, new LoopbackShardTransport(shards));
+    }
+
+    @Test
+    void allEnginesMatchReference() {
+        for (Map.Entry<String, Function<GraphSpec.Built, ShortestPathEngine>> entry : engines().entrySet()) {
+            Random random = new Random(SEED);
+            for (int trial = 0; trial < TRIALS; trial++) {
+                GraphSpec spec = GraphSpec.random(random, MAX_VERTICES);
+                long pairSeed = random.nextLong();
+                Function<GraphSpec.Built, ShortestPathEngine> factory = entry.getValue();
+
+                String failure = check(spec, factory, pairSeed);
+                if (failure != null) {
+                    GraphSpec minimal = GraphSpec.shrink(spec, candidate -> check(candidate, factory, pairSeed) != null);
+                    fail(entry.getKey() + " (Seed " + SEED + ", Durchlauf " + trial + "): "
+                            + check(minimal, factory, pairSeed) + "\nMinimales Gegenbeispiel: " + minimal);
+                }
+            }
+        }
+    }
+
+    @Test
+    void overlayMatchesReferenceAfterCustomization() {
+        Random random = new Random(SEED + 1);
+        for (int trial = 0; trial < TRIALS; trial++) {
+            GraphSpec spec = GraphSpec.random(random, MAX_VERTICES);
+            GraphSpec.Built built = spec.build();
+            OverlayDijkstraAlgorithm engine = overlay(built.graph, 2, 4, 8);
+
+            // Gewichte ändern, ohne die Vorverarbeitung neu zu starten
+            List<int[]> changed = new ArrayList<>();
+            for (int i = 0; i < spec.edges.size(); i++) {
+                int[] edge = spec.edges.get(i);
+                int weight = random.nextBoolean() ? random.nextInt(20) : edge[2];
+                built.edges.get(i).element().setDistance(weight);
+                changed.add(new int[]{edge[0], edge[1], weight});
+            }
+            engine.getOverlay().customize();
+
+            String failure = checkPairs(spec.withEdges(changed), built, engine, random.nextLong());
+            assertNull(failure, "overlay nach customize() (Seed " + SEED + ", Durchlauf " + trial + ")");
+        }
+    }
+
+    @Test
+    void shrinkingFindsMinimalCounterexample() {
+        // Absichtlich fehlerhaftes Verfahren: ab zwei Kanten ist die Distanz um 1 zu groß
+        Function<GraphSpec.Built, ShortestPathEngine> broken = built -> {
+            DijkstraAlgorithm reference = new DijkstraAlgorithm(built.graph);
+            return (start, end) -> {
+                DijkstraAlgorithm.DijkstraResult result = reference.findShortestPath(start, end);
+                if (!result.pathExists() || result.getEdges().size() < 2) {
+                    return result;
+                }
+                return new DijkstraAlgorithm.DijkstraResult(result.getPath(), result.getTotalDistance() + 1,
+                        result.getEdges());
+            };
+        };
+
+        Random random = new Random(SEED + 2);
+        GraphSpec failing = null;
+        while (failing == null) {
+            GraphSpec spec = GraphSpec.random(random, MAX_VERTICES);
+            if (check(spec, broken, 0) != null) {
+                failing = spec;
+            }
+        }
+
+        GraphSpec minimal = GraphSpec.shrink(failing, candidate -> check(candidate, broken, 0) != null);
+        assertNotNull(check(minimal, broken, 0), "Verkleinerter Graph muss weiterhin fehlschlagen");
+        assertEquals(3, minimal.vertexCount, "Knoten im minimalen Gegenbeispiel: " + minimal);
+        assertEquals(2, minimal.edges.size(), "Kanten im minimalen Gegenbeispiel: " + minimal);
+        for (int[] edge : minimal.edges) {
+            assertEquals(0, edge[2], "Gewichte im minimalen Gegenbeispiel: " + minimal);
+        }
+    }
+
+    /**
+     * Baut Graph und Verfahren neu auf und prüft Knotenpaare.
+     * @return Beschreibung der ersten Abweichung oder null, wenn alles stimmt
+     */
+    private static String check(GraphSpec spec, Function<GraphSpec.Built, ShortestPathEngine> factory,
+                                long pairSeed) {
+        GraphSpec.Built built = spec.build();
+        try (ShortestPathEngine engine = factory.apply(built)) {
+            return checkPairs(spec, built, engine, pairSeed);
+        } catch (RuntimeException e) {
+            return "Ausnahme " + e;
+        }
+    }
+
+    /**
+     * Prüft alle Knotenpaare, bei großen Graphen eine zufällige Auswahl.
+     */
+    private static String checkPairs(GraphSpec spec, GraphSpec.Built built, ShortestPathEngine engine, long pairSeed) {
+        int n = spec.vertexCount;
+        double[][] reference = floydWarshall(spec);
+
+        List<int[]> pairs = new ArrayList<>();
+        if (n * n <= MAX_PAIRS) {
+            for (int s = 0; s < n; s++) {
+                for (int t = 0; t < n; t++) {
+                    pairs.add(new int[]{s, t});
+                }
+            }
+        } else {
+            Random random = new Random(pairSeed);
+            for (int i = 0; i < MAX_PAIRS; i++) {
+                pairs.add(new int[]{random.nextInt(n), random.nextInt(n)});
+            }
+        }
+
+        for (int[] pair : pairs) {
+            String failure = checkResult(built, pair[0], pair[1], reference[pair[0]][pair[1]],
+                    engine.findShortestPath(built.vertices.get(pair[0]), built.vertices.get(pair[1])));
+            if (failure != null) {
+                return "v" + pair[0] + " -> v" + pair[1] + ": " + failure;
+            }
+        }
+        return null;
+    }
+
+    private static String checkResult(GraphSpec.Built built, int s, int t, double expected,
+                                      DijkstraAlgorithm.DijkstraResult result) {
+        if (expected == INF) {
+            return result.pathExists() ? "Pfad gefunden, obwohl das Ziel unerreichbar ist" : null;
+        }
+        if (!result.pathExists()) {
+            return "kein Pfad gefunden, erwartet Distanz " + expected;
+        }
+        if (result.getTotalDistance() != expected) {
+            return "Distanz " + result.getTotalDistance() + ", erwartet " + expected;
+        }
+
+        List<Vertex<VertaxData>> path = result.getPath();
+        List<Edge<EdgeData, VertaxData>> edges = result.getEdges();
+        if (path.get(0) != built.vertices.get(s) || path.get(path.size() - 1) != built.vertices.get(t)) {
+            return "Pfad beginnt oder endet falsch: " + result.getPathAsString();
+        }
+        if (edges.size() != path.size() - 1) {
+            return path.size() + " Knoten, aber " + edges.size() + " Kanten";
+        }
+
+        Set<Edge<EdgeData, VertaxData>> graphEdges = Collections.newSetFromMap(new IdentityHashMap<>());
+        graphEdges.addAll(built.edges);
+        double sum = 0;
+        for (int i = 0; i < edges.size(); i++) {
+            Edge<EdgeData, VertaxData> edge = edges.get(i);
+            Vertex<VertaxData>[] ends = edge.vertices();
+            Vertex<VertaxData> from = path.get(i);
+            Vertex<VertaxData> to = path.get(i + 1);
+            if (!graphEdges.contains(edge)
+                    || !((ends[0] == from && ends[1] == to) || (ends[0] == to && ends[1] == from))) {
+                return "Kante " + i + " verbindet nicht " + from.element() + " und " + to.element();
+            }
+            sum += edge.element().getDistance();
+        }
+        if (sum != expected) {
+            return "Kantengewichte ergeben " + sum + ", erwartet " + expected;
+        }
+        return null;
+    }
+
+    /**
+     * Referenz: Floyd-Warshall auf der Beschreibung, unabhängig von allen Verfahren.
+     */
+    private static double[][] floydWarshall(GraphSpec spec) {
+        int n = spec.vertexCount;
+        double[][] d = new double[n][n];
+        for (int i = 0; i < n; i++) {
+            Arrays.fill(d[i], INF);
+            d[i][i] = 0;
+        }
+        for (int[] edge : spec.edges) {
+            d[edge[0]][edge[1]] = Math.min(d[edge[0]][edge[1]], edge[2]);
+            d[edge[1]][edge[0]] = Math.min(d[edge[1]][edge[0]], edge[2]);
+        }
+        for (int k = 0; k < n; k++) {
+            for (int i = 0; i < n; i++) {
+                for (int j = 0; j < n; j++) {
+                    if (d[i][k] + d[k][j] < d[i][j]) {
+                        d[i][j] = d[i][k] + d[k][j];
+                    }
+                }
+            }
+        }
+        return d;
+    }
+}
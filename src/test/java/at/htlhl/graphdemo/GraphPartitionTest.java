@@ -0,0 +1,116 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Graph;
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft die Eigenschaften der {@link GraphPartition}, auf denen das Overlay-Verfahren aufbaut:
+ * Zellgrößen, gültige Zellnummern, die Verschachtelung der Ebenen und das Zusammenlegen
+ * kleiner Restzellen.
+ */
+class GraphPartitionTest {
+
+    private static final int[] CELL_SIZES = {4, 16, 64};
+
+    @Test
+    void cellsRespectSizeLimitsAndNest() {
+        Random random = new Random(13);
+        for (int trial = 0; trial < 100; trial++) {
+            GraphSpec spec = GraphSpec.random(random, 200);
+            CompiledGraph compiled = CompiledGraph.compile(spec.build().graph, VertexOrdering.INPUT);
+            GraphPartition partition = GraphPartition.create(compiled, CELL_SIZES);
+            String context = "Versuch " + trial + ": " + spec;
+
+            assertEquals(CELL_SIZES.length, partition.levelCount(), "Ebenen, " + context);
+            for (int level = 1; level <= partition.levelCount(); level++) {
+                int[] sizes = new int[partition.cellCount(level)];
+                for (int v = 0; v < compiled.vertexCount(); v++) {
+                    int cell = partition.cellOf(level, v);
+                    assertTrue(cell >= 0 && cell < sizes.length, "Zellnummer auf Ebene " + level + ", " + context);
+                    sizes[cell]++;
+                }
+                for (int cell = 0; cell < sizes.length; cell++) {
+                    assertTrue(sizes[cell] >= 1 && sizes[cell] <= CELL_SIZES[level - 1],
+                            "Größe von Zelle " + cell + " auf Ebene " + level + ": " + sizes[cell] + ", " + context);
+                }
+            }
+
+            // Knoten in derselben Zelle bleiben auch auf allen höheren Ebenen zusammen
+            for (int level = 1; level < partition.levelCount(); level++) {
+                int[] parent = new int[partition.cellCount(level)];
+                Arrays.fill(parent, -1);
+                for (int v = 0; v < compiled.vertexCount(); v++) {
+                    int cell = partition.cellOf(level, v);
+                    int upper = partition.cellOf(level + 1, v);
+                    assertTrue(parent[cell] == -1 || parent[cell] == upper,
+                            "Zelle " + cell + " auf Ebene " + level + " ist geteilt, " + context);
+                    parent[cell] = upper;
+                }
+            }
+        }
+    }
+
+    @Test
+    void smallCellsHaveNoNeighbourWithRoom() {
+        Random random = new Random(15);
+        for (int trial = 0; trial < 100; trial++) {
+            GraphSpec spec = GraphSpec.random(random, 200);
+            CompiledGraph compiled = CompiledGraph.compile(spec.build().graph, VertexOrdering.INPUT);
+            GraphPartition partition = GraphPartition.create(compiled, CELL_SIZES);
+            String context = "Versuch " + trial + ": " + spec;
+
+            for (int level = 1; level <= partition.levelCount(); level++) {
+                int maxSize = CELL_SIZES[level - 1];
+                int[] sizes = new int[partition.cellCount(level)];
+                for (int v = 0; v < compiled.vertexCount(); v++) {
+                    sizes[partition.cellOf(level, v)]++;
+                }
+                // Eine Zelle bis zur halben Maximalgröße wäre mit jedem Nachbarn mit Platz zusammengelegt worden
+                for (int v = 0; v < compiled.vertexCount(); v++) {
+                    int cell = partition.cellOf(level, v);
+                    for (int a = compiled.arcsBegin(v); a < compiled.arcsEnd(v); a++) {
+                        int other = partition.cellOf(level, compiled.arcTarget(a));
+                        assertTrue(other == cell || 2 * sizes[cell] > maxSize || sizes[cell] + sizes[other] > maxSize,
+                                "Zelle " + cell + " (" + sizes[cell] + ") und " + other + " (" + sizes[other]
+                                        + ") auf Ebene " + level + " nicht zusammengelegt, " + context);
+                    }
+                }
+            }
+        }
+    }
+
+    @Test
+    void gridCellsAreAtLeastHalfFull() {
+        Graph<VertaxData, EdgeData> graph = GraphGenerator.shuffledGrid(40, 40, new Random(16), null);
+        CompiledGraph compiled = CompiledGraph.compile(graph, VertexOrdering.REVERSE_CUTHILL_MCKEE);
+        GraphPartition partition = GraphPartition.create(compiled, 16, 128);
+
+        for (int level = 1; level <= partition.levelCount(); level++) {
+            int[] sizes = new int[partition.cellCount(level)];
+            for (int v = 0; v < compiled.vertexCount(); v++) {
+                sizes[partition.cellOf(level, v)]++;
+            }
+            int small = 0;
+            for (int size : sizes) {
+                if (size < (level == 1 ? 16 : 128) / 4) {
+                    small++;
+                }
+            }
+            assertEquals(0, small, "Zellen unter einem Viertel der Maximalgröße auf Ebene " + level);
+        }
+    }
+
+    @Test
+    void rejectsInvalidCellSizes() {
+        CompiledGraph compiled = CompiledGraph.compile(GraphSpec.random(new Random(14), 10).build().graph,
+                VertexOrdering.INPUT);
+        assertThrows(IllegalArgumentException.class, () -> GraphPartition.create(compiled), "Keine Ebene");
+        assertThrows(IllegalArgumentException.class, () -> GraphPartition.create(compiled, 16, 4), "Absteigend");
+        assertThrows(IllegalArgumentException.class, () -> GraphPartition.create(compiled, 0, 4), "Null");
+    }
+}
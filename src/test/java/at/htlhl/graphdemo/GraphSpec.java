@@ -0,0 +1,203 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Edge;
+import com.brunomnsilva.smartgraph.graph.Graph;
+import com.brunomnsilva.smartgraph.graph.GraphEdgeList;
+import com.brunomnsilva.smartgraph.graph.Vertex;
+
+import java.util.*;
+import java.util.function.Predicate;
+
+/**
+ * Kompakte, verkleinerbare Beschreibung eines Testgraphen: Knoten 0 .. n-1 mit
+ * Koordinaten (für {@link VertexOrdering#HILBERT}) und eine Liste ungerichteter
+ * Kanten {u, v, gewicht}. Daraus wird bei Bedarf ein SmartGraph-Graph erzeugt.
+ * Fehlschlagende Graphen werden mit {@link #shrink} auf ein minimales Gegenbeispiel reduziert.
+ */
+class GraphSpec {
+
+    final int vertexCount;
+    final List<int[]> edges;
+    final double[][] coordinates;
+
+    GraphSpec(int vertexCount, List<int[]> edges, double[][] coordinates) {
+        this.vertexCount = vertexCount;
+        this.edges = edges;
+        this.coordinates = coordinates;
+    }
+
+    /**
+     * Gleicher Graph mit anderen Kanten.
+     */
+    GraphSpec withEdges(List<int[]> newEdges) {
+        return new GraphSpec(vertexCount, newEdges, coordinates);
+    }
+
+    /**
+     * Erzeugt einen zufälligen Graphen. Je nach Zufall ist er in mehrere Komponenten
+     * zerfallen, enthält Kanten mit Gewicht 0, Mehrfachkanten und Schleifen.
+     */
+    static GraphSpec random(Random random, int maxVertices) {
+        int n = 1 + random.nextInt(maxVertices);
+        int components = 1 + random.nextInt(3);
+        double zeroWeightChance = random.nextBoolean() ? 0.25 : 0.0;
+        double parallelChance = random.nextBoolean() ? 0.2 : 0.0;
+        int maxWeight = random.nextBoolean() ? 10 : 1000;
+
+        List<int[]> edges = new ArrayList<>();
+        int edgeCount = random.nextInt(3 * n + 1);
+        for (int i = 0; i < edgeCount; i++) {
+            // Kanten nur innerhalb einer Komponente (Knoten mit gleichem Rest)
+            int component = random.nextInt(components);
+            int u = pickInComponent(random, n, components, component);
+            int v = pickInComponent(random, n, components, component);
+            if (u < 0 || v < 0) {
+                continue;
+            }
+            int weight = random.nextDouble() < zeroWeightChance ? 0 : 1 + random.nextInt(maxWeight);
+            edges.add(new int[]{u, v, weight});
+
+            if (random.nextDouble() < parallelChance) {
+                edges.add(new int[]{v, u, random.nextInt(maxWeight + 1)});
+            }
+        }
+        double[][] coordinates = new double[n][];
+        for (int i = 0; i < n; i++) {
+            coordinates[i] = new double[]{random.nextDouble() * 100, random.nextDouble() * 100};
+        }
+        return new GraphSpec(n, edges, coordinates);
+    }
+
+    private static int pickInComponent(Random random, int n, int components, int component) {
+        int size = (n - component + components - 1) / components;
+        return size <= 0 ? -1 : component + components * random.nextInt(size);
+    }
+
+    /**
+     * Baut den SmartGraph-Graphen; jede Kante erhält ein eigenes {@link EdgeData}.
+     * Alle Knotennamen liegen in einem gemeinsamen {@link NameDictionary}.
+     */
+    Built build() {
+        Graph<VertaxData, EdgeData> graph = new GraphEdgeList<>();
+        NameDictionary.Builder names = new NameDictionary.Builder();
+        int[] nameIds = new int[vertexCount];
+        for (int i = 0; i < vertexCount; i++) {
+            nameIds[i] = names.add("v" + i);
+        }
+        NameDictionary dictionary = names.build();
+
+        List<Vertex<VertaxData>> vertices = new ArrayList<>();
+        Map<VertaxData, double[]> positions = new IdentityHashMap<>();
+        for (int i = 0; i < vertexCount; i++) {
+            VertaxData data = new DictionaryVertaxData(dictionary, nameIds[i]);
+            vertices.add(graph.insertVertex(data));
+            positions.put(data, coordinates[i]);
+        }
+        List<Edge<EdgeData, VertaxData>> graphEdges = new ArrayList<>();
+        for (int[] edge : edges) {
+            graphEdges.add(graph.insertEdge(vertices.get(edge[0]), vertices.get(edge[1]), new EdgeData(edge[2])));
+        }
+        return new Built(graph, vertices, graphEdges, positions);
+    }
+
+    /**
+     * Kandidaten, die jeweils um genau einen Schritt kleiner sind: ein Knoten weniger,
+     * eine Kante weniger oder ein kleineres Gewicht.
+     */
+    List<GraphSpec> shrinkCandidates() {
+        List<GraphSpec> candidates = new ArrayList<>();
+
+        for (int removed = vertexCount - 1; removed >= 0; removed--) {
+            List<int[]> remaining = new ArrayList<>();
+            for (int[] edge : edges) {
+                if (edge[0] != removed && edge[1] != removed) {
+                    remaining.add(new int[]{
+                            edge[0] > removed ? edge[0] - 1 : edge[0],
+                            edge[1] > removed ? edge[1] - 1 : edge[1],
+                            edge[2]});
+                }
+            }
+            double[][] remainingCoordinates = new double[vertexCount - 1][];
+            for (int v = 0, next = 0; v < vertexCount; v++) {
+                if (v != removed) {
+                    remainingCoordinates[next++] = coordinates[v];
+                }
+            }
+            candidates.add(new GraphSpec(vertexCount - 1, remaining, remainingCoordinates));
+        }
+
+        for (int i = edges.size() - 1; i >= 0; i--) {
+            List<int[]> remaining = new ArrayList<>(edges);
+            remaining.remove(i);
+            candidates.add(withEdges(remaining));
+        }
+
+        for (int i = 0; i < edges.size(); i++) {
+            int weight = edges.get(i)[2];
+            for (int smaller : new int[]{0, 1, weight / 2}) {
+                if (smaller < weight) {
+                    List<int[]> changed = new ArrayList<>(edges);
+                    changed.set(i, new int[]{edges.get(i)[0], edges.get(i)[1], smaller});
+                    candidates.add(withEdges(changed));
+                }
+            }
+        }
+        return candidates;
+    }
+
+    /**
+     * Verkleinert einen fehlschlagenden Graphen schrittweise, solange der Fehler bestehen bleibt.
+     * @param fails Liefert true, wenn der Fehler mit dem Graphen auftritt
+     */
+    static GraphSpec shrink(GraphSpec failing, Predicate<GraphSpec> fails) {
+        GraphSpec current = failing;
+        boolean progress = true;
+        while (progress) {
+            progress = false;
+            for (GraphSpec candidate : current.shrinkCandidates()) {
+                if (fails.test(candidate)) {
+                    current = candidate;
+                    progress = true;
+                    break;
+                }
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        sb.append(vertexCount).append(" Knoten, Kanten:");
+        for (int[] edge : edges) {
+            sb.append(" v").append(edge[0]).append("-v").append(edge[1]).append("(").append(edge[2]).append(")");
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Erzeugter Graph mit Zugriff auf Knoten und Kanten über ihren Index in der Beschreibung.
+     */
+    static class Built {
+        final Graph<VertaxData, EdgeData> graph;
+        final List<Vertex<VertaxData>> vertices;
+        final List<Edge<EdgeData, VertaxData>> edges;
+        private final Map<VertaxData, double[]> positions;
+
+        Built(Graph<VertaxData, EdgeData> graph, List<Vertex<VertaxData>> vertices,
+              List<Edge<EdgeData, VertaxData>> edges, Map<VertaxData, double[]> positions) {
+            this.graph = graph;
+            this.vertices = vertices;
+            this.edges = edges;
+            this.positions = positions;
+        }
+
+        double x(VertaxData data) {
+            return positions.get(data)[0];
+        }
+
+        double y(VertaxData data) {
+            return positions.get(data)[1];
+        }
+    }
+}
@@ -0,0 +1,100 @@
+package at.htlhl.graphdemo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft die Perzentile des {@link LatencyHistogram} gegen die exakten Werte einer
+ * sortierten Liste: höchstens 1/64 zu groß, nie zu klein.
+ */
+class LatencyHistogramTest {
+
+    private static final double[] PERCENTILES = {0, 50, 90, 99, 99.9, 100};
+
+    @Test
+    void emptyHistogram() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(0L, histogram.getTotalCount(), "Anzahl");
+        assertEquals(0L, histogram.valueAtPercentile(50), "p50");
+        assertEquals(0L, histogram.getMin(), "Minimum");
+        assertEquals(0L, histogram.getMax(), "Maximum");
+        assertEquals(0.0, histogram.getMean(), "Mittelwert");
+    }
+
+    @Test
+    void smallValuesAreExact() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (long value = 0; value < 128; value++) {
+            histogram.record(value);
+        }
+        assertEquals(63L, histogram.valueAtPercentile(50), "p50");
+        assertEquals(126L, histogram.valueAtPercentile(99), "p99");
+        assertEquals(127L, histogram.valueAtPercentile(100), "p100");
+        assertEquals(0L, histogram.valueAtPercentile(0), "p0");
+    }
+
+    @Test
+    void percentilesStayWithinRelativeError() {
+        Random random = new Random(11);
+        for (int trial = 0; trial < 50; trial++) {
+            int count = 1 + random.nextInt(5000);
+            long[] values = new long[count];
+            LatencyHistogram histogram = new LatencyHistogram();
+            for (int i = 0; i < count; i++) {
+                // Größenordnungen von Nanosekunden bis Minuten
+                values[i] = (long) Math.pow(10, random.nextDouble() * 11);
+                histogram.record(values[i]);
+            }
+            Arrays.sort(values);
+
+            for (double percentile : PERCENTILES) {
+                int rank = (int) Math.max(1, Math.ceil(percentile / 100.0 * count));
+                long exact = values[rank - 1];
+                long actual = histogram.valueAtPercentile(percentile);
+                assertTrue(actual >= exact && actual <= exact + exact / 64,
+                        "p" + percentile + ": erwartet " + exact + ", erhalten " + actual);
+            }
+            assertEquals(values[count - 1], histogram.valueAtPercentile(100), "p100 ist das Maximum");
+            assertEquals(values[0], histogram.getMin(), "Minimum");
+            assertEquals(values[count - 1], histogram.getMax(), "Maximum");
+            assertEquals((long) count, histogram.getTotalCount(), "Anzahl");
+        }
+    }
+
+    @Test
+    void addEqualsRecordingIntoOneHistogram() {
+        Random random = new Random(12);
+        LatencyHistogram combined = new LatencyHistogram();
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < 1000; i++) {
+            long value = random.nextInt(1_000_000);
+            combined.record(value);
+            (i % 3 == 0 ? first : second).record(value);
+        }
+        first.add(second);
+
+        for (double percentile : PERCENTILES) {
+            assertEquals(combined.valueAtPercentile(percentile), first.valueAtPercentile(percentile),
+                    "p" + percentile);
+        }
+        assertEquals(combined.getTotalCount(), first.getTotalCount(), "Anzahl");
+        assertEquals(combined.getMin(), first.getMin(), "Minimum");
+        assertEquals(combined.getMax(), first.getMax(), "Maximum");
+        assertEquals(combined.getMean(), first.getMean(), "Mittelwert");
+    }
+
+    @Test
+    void extremeValues() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.record(-5);
+        assertEquals(0L, histogram.getMin(), "Negativer Wert zählt als 0");
+        histogram.record(Long.MAX_VALUE);
+        assertEquals(Long.MAX_VALUE, histogram.valueAtPercentile(100), "Größter long-Wert");
+        assertEquals(0L, histogram.valueAtPercentile(50), "p50");
+    }
+}
@@ -0,0 +1,182 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Graph;
+import com.brunomnsilva.smartgraph.graph.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft das Einlesen von Abfrage-Logs, die synthetische Last, die Prüfung der Einstellungen
+ * und den JSON-Bericht des {@link LoadHarness}.
+ */
+class LoadHarnessTest {
+
+    @Test
+    void readQueryLogIgnoresCaseCommentsAndUnknownNames() throws Exception {
+        GraphControl control = new GraphControl();
+        Path log = Files.createTempFile("abfragen", ".log");
+        try {
+            Files.writeString(log, String.join("\n",
+                    "# Aufgezeichnet am Montag",
+                    "Seattle;Chicago",
+                    "",
+                    "  new york ; BOSTON  ",
+                    "Seattle;Wien",
+                    "Seattle",
+                    "Seattle;Chicago;Boston",
+                    "   # eingerückter Kommentar",
+                    "san francisco;miami"), StandardCharsets.UTF_8);
+
+            List<Vertex<VertaxData>[]> queries = LoadHarness.readQueryLog(log, control.getNameIndex());
+
+            String[][] expected = {{"Seattle", "Chicago"}, {"New York", "Boston"}, {"San Francisco", "Miami"}};
+            assertEquals(expected.length, queries.size(), "Gültige Zeilen");
+            for (int i = 0; i < expected.length; i++) {
+                assertEquals(expected[i][0], queries.get(i)[0].element().getName(), "Start in Abfrage " + i);
+                assertEquals(expected[i][1], queries.get(i)[1].element().getName(), "Ziel in Abfrage " + i);
+            }
+        } finally {
+            Files.delete(log);
+        }
+    }
+
+    @Test
+    void syntheticQueriesAreReproducibleAndUseGraphVertices() {
+        Graph<VertaxData, EdgeData> graph = new GraphControl().getGraph();
+        Set<Vertex<VertaxData>> vertices = new HashSet<>(graph.vertices());
+
+        List<Vertex<VertaxData>[]> first = LoadHarness.syntheticQueries(graph, 500, 1.0, new Random(3));
+        List<Vertex<VertaxData>[]> second = LoadHarness.syntheticQueries(graph, 500, 1.0, new Random(3));
+
+        assertEquals(500, first.size(), "Anzahl");
+        for (int i = 0; i < first.size(); i++) {
+            assertTrue(vertices.contains(first.get(i)[0]) && vertices.contains(first.get(i)[1]),
+                    "Knoten aus dem Graphen in Abfrage " + i);
+            assertTrue(first.get(i)[0] == second.get(i)[0] && first.get(i)[1] == second.get(i)[1],
+                    "Gleicher Seed, gleiche Abfrage " + i);
+        }
+        assertEquals(0, LoadHarness.syntheticQueries(graph, 0, 1.0, new Random(3)).size(), "Keine Abfragen");
+    }
+
+    @Test
+    void skewControlsHowOftenTheMostPopularVertexIsAsked() {
+        Graph<VertaxData, EdgeData> graph = new GraphControl().getGraph();
+        int count = 15_000;
+
+        // skew = 0: jeder der 15 Knoten etwa 1000-mal als Start
+        Map<Vertex<VertaxData>, Integer> uniform = startCounts(LoadHarness.syntheticQueries(graph, count, 0, new Random(4)));
+        assertEquals(15, uniform.size(), "Alle Knoten kommen vor");
+        for (int starts : uniform.values()) {
+            assertTrue(starts > 800 && starts < 1200, "Gleichverteilung: " + starts);
+        }
+
+        // skew = 2: der häufigste Knoten hat Gewicht 1 / (1 + 1/4 + 1/9 + ...) ≈ 0.63
+        Map<Vertex<VertaxData>, Integer> skewed = startCounts(LoadHarness.syntheticQueries(graph, count, 2, new Random(4)));
+        int most = Collections.max(skewed.values());
+        assertTrue(most > 0.58 * count && most < 0.68 * count, "Häufigster Knoten: " + most);
+    }
+
+    @Test
+    void rejectsInvalidSettings() {
+        Graph<VertaxData, EdgeData> graph = new GraphControl().getGraph();
+        List<Vertex<VertaxData>[]> queries = LoadHarness.syntheticQueries(graph, 10, 1.0, new Random(5));
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoadHarness(graph, queries, 0, 0, 0), "Parallelität 0");
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoadHarness(graph, queries, -1, 1, 0), "Negative Rate");
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoadHarness(graph, queries, Double.NaN, 1, 0), "Rate NaN");
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoadHarness(graph, queries, Double.POSITIVE_INFINITY, 1, 0), "Unendliche Rate");
+        assertThrows(IllegalArgumentException.class,
+                () -> new LoadHarness(graph, queries, 0, 1, -1), "Negatives Aufwärmen");
+        assertThrows(IllegalArgumentException.class,
+                () -> LoadHarness.main(new String[]{"--concurrency", "0"}), "Kommandozeile");
+    }
+
+    @Test
+    void runMatchesDijkstraWithoutErrors() throws Exception {
+        Graph<VertaxData, EdgeData> graph = new GraphControl().getGraph();
+        List<Vertex<VertaxData>[]> queries = LoadHarness.syntheticQueries(graph, 200, 1.0, new Random(6));
+        LoadHarness harness = new LoadHarness(graph, queries, 0, 2, 10);
+
+        LoadHarness.EngineReport dijkstra = harness.run(EngineMode.DIJKSTRA);
+        LoadHarness.EngineReport compiled = harness.run(EngineMode.COMPILED);
+
+        assertEquals(200L, compiled.getLatency().getTotalCount(), "Gemessene Abfragen");
+        assertEquals(0L, compiled.getErrors(), "Fehler");
+        assertNull(compiled.getFirstError(), "Keine Ausnahme");
+        assertEquals(dijkstra.getDistanceChecksum(), compiled.getDistanceChecksum(), "Prüfsumme der Distanzen");
+    }
+
+    @Test
+    void jsonContainsAllFieldsAndEscapesErrors() {
+        Graph<VertaxData, EdgeData> graph = new GraphControl().getGraph();
+        LatencyHistogram latency = new LatencyHistogram();
+        latency.record(1500);
+        latency.record(2500);
+        List<LoadHarness.EngineReport> reports = List.of(
+                new LoadHarness.EngineReport(EngineMode.COMPILED, 1.5, latency, 0.5, 0, null, 1, 42, 0, 0, 4096),
+                new LoadHarness.EngineReport(EngineMode.OVERLAY, 2.5, latency, 0.5, 2,
+                        "java.lang.IllegalStateException: \"kaputt\"\nzweite Zeile", 0, 42, 1, 3, 8192));
+
+        String json = LoadHarness.toJson("demo", graph, "log:C:\\abfragen.log", 2, 100, 4, 7, reports);
+
+        for (String key : List.of("graph", "spec", "vertices", "edges", "workload", "source", "queries",
+                "targetRate", "concurrency", "seed", "jvm", "engines", "mode", "buildMillis", "errors",
+                "firstError", "noPath", "distanceChecksum", "durationSeconds", "throughputPerSecond",
+                "latencyMicros", "p50", "p999", "gc", "allocatedBytes", "allocatedBytesPerQuery")) {
+            assertTrue(json.contains("\"" + key + "\": "), "Feld " + key);
+        }
+        assertTrue(json.contains("\"vertices\": 15, \"edges\": 26"), "Graphgröße");
+        assertTrue(json.contains("\"source\": \"log:C:\\\\abfragen.log\""), "Backslash im Pfad");
+        assertTrue(json.contains("\"mode\": \"compiled\""), "Erstes Verfahren");
+        assertTrue(json.contains("\"firstError\": null"), "Ohne Fehler");
+        assertTrue(json.contains("\"firstError\": \"java.lang.IllegalStateException: \\\"kaputt\\\"\\u000azweite Zeile\""),
+                "Fehlermeldung maskiert");
+        assertTrue(json.contains("\"throughputPerSecond\": 4.000"), "Durchsatz");
+        assertTrue(json.contains("\"allocatedBytesPerQuery\": 2048"), "Bytes je Abfrage");
+        assertBalanced(json);
+    }
+
+    /**
+     * Klammern außerhalb von Zeichenketten müssen paarweise passen, Zeichenketten dürfen
+     * keine Zeilenumbrüche enthalten.
+     */
+    private static void assertBalanced(String json) {
+        Deque<Character> open = new ArrayDeque<>();
+        boolean inString = false;
+        for (int i = 0; i < json.length(); i++) {
+            char c = json.charAt(i);
+            if (inString) {
+                assertTrue(c != '\n', "Zeilenumbruch in Zeichenkette an Position " + i);
+                if (c == '\\') {
+                    i++;
+                } else if (c == '"') {
+                    inString = false;
+                }
+            } else if (c == '"') {
+                inString = true;
+            } else if (c == '{' || c == '[') {
+                open.push(c == '{' ? '}' : ']');
+            } else if (c == '}' || c == ']') {
+                assertTrue(!open.isEmpty() && open.pop() == c, "Klammer an Position " + i);
+            }
+        }
+        assertTrue(open.isEmpty() && !inString, "Alle Klammern und Zeichenketten geschlossen");
+    }
+
+    private static Map<Vertex<VertaxData>, Integer> startCounts(List<Vertex<VertaxData>[]> queries) {
+        Map<Vertex<VertaxData>, Integer> counts = new HashMap<>();
+        for (Vertex<VertaxData>[] query : queries) {
+            counts.merge(query[0], 1, Integer::sum);
+        }
+        return counts;
+    }
+}
@@ -0,0 +1,145 @@
+package at.htlhl.graphdemo;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft exakte Suche, Suche ohne Groß-/Kleinschreibung und Präfixsuche des
+ * {@link NameDictionary}, die Präfixsuche zusätzlich gegen eine lineare Suche.
+ */
+class NameDictionaryTest {
+
+    private static NameDictionary dictionary(String... names) {
+        NameDictionary.Builder builder = new NameDictionary.Builder();
+        for (String name : names) {
+            builder.add(name);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void findReturnsIdOfEachName() {
+        NameDictionary.Builder builder = new NameDictionary.Builder();
+        int wien = builder.add("Wien");
+        int graz = builder.add("Graz");
+        assertEquals(wien, builder.add("Wien"), "Wiederholter Name erhält dieselbe ID");
+        NameDictionary names = builder.build();
+
+        assertEquals(2, names.size(), "Anzahl");
+        assertEquals(wien, names.find("Wien"), "Wien");
+        assertEquals(graz, names.find("Graz"), "Graz");
+        assertEquals("Wien", names.name(wien), "Name zu ID");
+        assertEquals(-1, names.find("Linz"), "Unbekannter Name");
+    }
+
+    @Test
+    void findIsCaseSensitiveFindIgnoreCaseIsNot() {
+        NameDictionary names = dictionary("Zürich", "Wien", "wien");
+        assertEquals(1, names.find("Wien"), "Wien");
+        assertEquals(2, names.find("wien"), "wien");
+        assertEquals(-1, names.find("WIEN"), "WIEN exakt");
+        assertTrue(names.findIgnoreCase("WIEN") == 1 || names.findIgnoreCase("WIEN") == 2, "WIEN ohne Schreibweise");
+        assertEquals(0, names.findIgnoreCase("ZÜRICH"), "Umlaut ohne Schreibweise");
+        assertEquals(-1, names.findIgnoreCase("Wi"), "Präfix ist kein Treffer");
+    }
+
+    @Test
+    void findByPrefixIgnoresCaseAndRespectsLimit() {
+        NameDictionary names = dictionary("Salzburg", "St. Pölten", "Steyr", "salzkammergut", "Graz");
+        assertEquals(Set.of("Salzburg", "salzkammergut"), namesOf(names, names.findByPrefix("SALZ", 10)), "SALZ");
+        assertEquals(Set.of("St. Pölten"), namesOf(names, names.findByPrefix("st. pö", 10)), "st. pö");
+        assertEquals(2, names.findByPrefix("s", 2).length, "Limit");
+        assertEquals(5, names.findByPrefix("", 10).length, "Leeres Präfix");
+        assertEquals(0, names.findByPrefix("Wien", 10).length, "Kein Treffer");
+    }
+
+    @Test
+    void multiByteNamesCompareByCodePoint() {
+        // 2, 3 und 4 Byte lange UTF-8-Zeichen, jeweils in Groß- und Kleinschreibung
+        NameDictionary names = dictionary("Ölberg", "öde", "Ωmega", "€uro", "\uD801\uDC00x", "Oz");
+        assertEquals(0, names.findIgnoreCase("ölBERG"), "Ö");
+        assertEquals(2, names.findIgnoreCase("ωMEGA"), "Ω");
+        assertEquals(3, names.find("€uro"), "€");
+        assertEquals(4, names.findIgnoreCase("\uD801\uDC28X"), "Zeichen außerhalb der BMP");
+        assertEquals(Set.of("Ölberg", "öde"), namesOf(names, names.findByPrefix("Ö", 10)), "Präfix Ö");
+
+        // Reihenfolge nach kleingeschriebenen Codepoints: o < ö < ω < € < U+10428
+        int[] all = names.findByPrefix("", 10);
+        String[] expected = {"Oz", "öde", "Ölberg", "Ωmega", "€uro", "\uD801\uDC00x"};
+        assertEquals(expected.length, all.length, "Anzahl");
+        for (int i = 0; i < expected.length; i++) {
+            assertEquals(expected[i], names.name(all[i]), "Position " + i);
+        }
+    }
+
+    @Test
+    void namesAreStoredOnce() {
+        NameDictionary names = dictionary("Wien", "Graz", "Wien", "Zürich");
+        // 4 + 4 + 7 Byte UTF-8, dazu Offsets (n + 1) und sortierter Index (n)
+        assertEquals(15L + 4L * (4 + 3), names.memoryBytes(), "Speicherbedarf");
+    }
+
+    @Test
+    void emptyDictionary() {
+        NameDictionary names = dictionary();
+        assertEquals(0, names.size(), "Anzahl");
+        assertEquals(-1, names.find("Wien"), "find");
+        assertEquals(-1, names.findIgnoreCase("Wien"), "findIgnoreCase");
+        assertEquals(0, names.findByPrefix("", 10).length, "findByPrefix");
+    }
+
+    @Test
+    void findByPrefixMatchesLinearSearch() {
+        Random random = new Random(7);
+        String alphabet = "abAB äÄ€";
+        for (int trial = 0; trial < 200; trial++) {
+            NameDictionary.Builder builder = new NameDictionary.Builder();
+            for (int i = random.nextInt(40); i > 0; i--) {
+                builder.add(randomString(random, alphabet, 1 + random.nextInt(5)));
+            }
+            NameDictionary names = builder.build();
+
+            for (int query = 0; query < 20; query++) {
+                String prefix = randomString(random, alphabet, random.nextInt(3));
+                String folded = prefix.toLowerCase(Locale.ROOT);
+                Set<Integer> expected = new HashSet<>();
+                for (int id = 0; id < names.size(); id++) {
+                    if (names.name(id).toLowerCase(Locale.ROOT).startsWith(folded)) {
+                        expected.add(id);
+                    }
+                }
+
+                int[] all = names.findByPrefix(prefix, Integer.MAX_VALUE);
+                Set<Integer> actual = new HashSet<>();
+                for (int id : all) {
+                    actual.add(id);
+                }
+                assertEquals(all.length, actual.size(), "Doppelte Treffer für '" + prefix + "'");
+                assertEquals(expected, actual, "Treffer für '" + prefix + "'");
+
+                int limit = 1 + random.nextInt(3);
+                assertEquals(Math.min(limit, expected.size()), names.findByPrefix(prefix, limit).length,
+                        "Limit für '" + prefix + "'");
+            }
+        }
+    }
+
+    private static String randomString(Random random, String alphabet, int length) {
+        StringBuilder sb = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            sb.append(alphabet.charAt(random.nextInt(alphabet.length())));
+        }
+        return sb.toString();
+    }
+
+    private static Set<String> namesOf(NameDictionary names, int[] ids) {
+        Set<String> result = new HashSet<>();
+        for (int id : ids) {
+            result.add(names.name(id));
+        }
+        return result;
+    }
+}
@@ -0,0 +1,104 @@
+package at.htlhl.graphdemo;
+
+import com.brunomnsilva.smartgraph.graph.Graph;
+import com.brunomnsilva.smartgraph.graph.GraphEdgeList;
+import com.brunomnsilva.smartgraph.graph.Vertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Prüft den {@link VertexNameIndex}: Übernahme eines gemeinsamen Wörterbuchs, eigenes
+ * Wörterbuch für andere Knotendaten, mehrere Knoten mit demselben Namen und das Limit
+ * der Präfixsuche.
+ */
+class VertexNameIndexTest {
+
+    private static NameDictionary dictionary(String... names) {
+        NameDictionary.Builder builder = new NameDictionary.Builder();
+        for (String name : names) {
+            builder.add(name);
+        }
+        return builder.build();
+    }
+
+    @Test
+    void reusesSharedDictionary() {
+        NameDictionary names = dictionary("Wien", "Graz", "Linz");
+        Graph<VertaxData, EdgeData> graph = new GraphEdgeList<>();
+        for (int id = 0; id < names.size(); id++) {
+            graph.insertVertex(new DictionaryVertaxData(names, id));
+        }
+        VertexNameIndex index = VertexNameIndex.build(graph.vertices());
+
+        assertTrue(index.getDictionary() == names, "Gemeinsames Wörterbuch wird übernommen");
+        assertEquals("Graz", index.findFirst("Graz").element().getName(), "Graz");
+        assertNull(index.findFirst("Salzburg"), "Unbekannter Name");
+    }
+
+    @Test
+    void buildsOwnDictionaryForOtherVertices() {
+        NameDictionary names = dictionary("Wien", "Graz");
+        Graph<VertaxData, EdgeData> graph = new GraphEdgeList<>();
+        graph.insertVertex(new DictionaryVertaxData(names, 0));
+        graph.insertVertex(new StringVertaxData("Linz"));
+        graph.insertVertex(new DictionaryVertaxData(dictionary("Graz"), 0));
+        VertexNameIndex index = VertexNameIndex.build(graph.vertices());
+
+        assertTrue(index.getDictionary() != names, "Gemischte Knoten erhalten ein eigenes Wörterbuch");
+        assertEquals(3, index.getDictionary().size(), "Namen im eigenen Wörterbuch");
+        assertEquals("Linz", index.findFirst("Linz").element().getName(), "Linz");
+        assertEquals("Wien", index.findFirst("Wien").element().getName(), "Wien");
+        assertEquals(1, index.find("Graz").size(), "Graz");
+    }
+
+    @Test
+    void findsAllVerticesWithTheSameName() {
+        Graph<VertaxData, EdgeData> graph = new GraphEdgeList<>();
+        Set<Vertex<VertaxData>> neustadt = new HashSet<>();
+        neustadt.add(graph.insertVertex(new StringVertaxData("Neustadt")));
+        graph.insertVertex(new StringVertaxData("Neusiedl"));
+        neustadt.add(graph.insertVertex(new StringVertaxData("Neustadt")));
+        neustadt.add(graph.insertVertex(new StringVertaxData("Neustadt")));
+        VertexNameIndex index = VertexNameIndex.build(graph.vertices());
+
+        assertEquals(neustadt, new HashSet<>(index.find("Neustadt")), "Alle Knoten mit dem Namen");
+        assertTrue(neustadt.contains(index.findFirst("Neustadt")), "findFirst");
+        assertTrue(neustadt.contains(index.findFirstIgnoreCase("NEUSTADT")), "findFirstIgnoreCase");
+        assertEquals(0, index.find("neustadt").size(), "find beachtet die Schreibweise");
+    }
+
+    @Test
+    void prefixLimitCountsVerticesNotNames() {
+        Graph<VertaxData, EdgeData> graph = new GraphEdgeList<>();
+        for (int i = 0; i < 3; i++) {
+            graph.insertVertex(new StringVertaxData("Neustadt"));
+        }
+        graph.insertVertex(new StringVertaxData("Neusiedl"));
+        graph.insertVertex(new StringVertaxData("Graz"));
+        VertexNameIndex index = VertexNameIndex.build(graph.vertices());
+
+        List<Vertex<VertaxData>> two = index.findByPrefix("neu", 2);
+        assertEquals(2, two.size(), "Limit über gleichnamige Knoten hinweg");
+        assertEquals("Neusiedl", two.get(0).element().getName(), "Alphabetisch zuerst");
+        assertEquals("Neustadt", two.get(1).element().getName(), "Danach gleichnamige Knoten");
+        assertEquals(4, index.findByPrefix("neu", 10).size(), "Alle Treffer");
+        assertEquals(5, index.findByPrefix("", 10).size(), "Leeres Präfix");
+        assertEquals(0, index.findByPrefix("neu", 0).size(), "Limit 0");
+    }
+
+    @Test
+    void cityGraphSharesOneDictionary() {
+        GraphControl control = new GraphControl();
+        VertexNameIndex index = control.getNameIndex();
+        assertEquals(15, control.getGraph().numVertices(), "Städte");
+        assertEquals(26, control.getGraph().numEdges(), "Verbindungen");
+        assertEquals(15, index.getDictionary().size(), "Jeder Name einmal im Wörterbuch");
+        for (Vertex<VertaxData> vertex : control.getGraph().vertices()) {
+            assertTrue(vertex.element() instanceof DictionaryVertaxData, "Knotendaten aus dem Wörterbuch");
+            assertTrue(index.findFirst(vertex.element().getName()) == vertex, vertex.element().getName());
+        }
+    }
+}